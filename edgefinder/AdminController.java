@@ -0,0 +1,89 @@
+package com.edgefinder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    private final UpstreamTransport transport;
+    private final AdmissionControlFilter admission;
+    private final FlightRecorderService flightRecorder;
+    private final String adminToken;
+
+    public AdminController(UpstreamTransport transport,
+                           AdmissionControlFilter admission,
+                           FlightRecorderService flightRecorder,
+                           @Value("${admin.token:}") String adminToken) {
+        this.transport = transport;
+        this.admission = admission;
+        this.flightRecorder = flightRecorder;
+        this.adminToken = adminToken;
+    }
+
+    /**
+     * GET /api/admin/upstreams
+     * Connection pool occupancy and circuit breaker state per upstream host.
+     */
+    @GetMapping("/upstreams")
+    public ResponseEntity<List<Map<String,Object>>> getUpstreams() {
+        return ResponseEntity.ok(transport.stats());
+    }
+
+    /**
+     * GET /api/admin/admission
+     * Current adaptive limit, in-flight, queued and rejected counts per route.
+     */
+    @GetMapping("/admission")
+    public ResponseEntity<List<Map<String,Object>>> getAdmission() {
+        return ResponseEntity.ok(admission.stats());
+    }
+
+    /**
+     * POST /api/admin/jfr/dump?minutes=10
+     * Writes the last N minutes of the continuous JFR recording to a file on the server.
+     * Off unless jfr.dump.enabled=true; when admin.token is set the request must carry
+     * it in X-Admin-Token.
+     */
+    @PostMapping("/jfr/dump")
+    public ResponseEntity<Map<String,Object>> dumpJfr(
+            @RequestParam(defaultValue = "10") int minutes,
+            @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        if (!flightRecorder.isDumpEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        if (!adminToken.isEmpty() && (token == null || !MessageDigest.isEqual(
+                adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8)))) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        if (minutes < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minutes must be at least 1");
+        }
+        if (!flightRecorder.isRecording()) {
+            return ResponseEntity.status(503).body(Map.of("error", "JFR recording is not running"));
+        }
+        int capped = (int) Math.min(minutes, flightRecorder.maxAge().toMinutes());
+        try {
+            Path file = flightRecorder.dump(capped);
+            Map<String,Object> out = new LinkedHashMap<>();
+            out.put("file", file.toString());
+            out.put("minutes", capped);
+            out.put("bytes", Files.size(file));
+            return ResponseEntity.ok(out);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.edgefinder;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-endpoint concurrency limits for {@code /api/**}, so a slow upstream
+ * behind one route can't tie up every Tomcat thread.
+ *
+ * Every {@code /api} handler mapping gets its own limiter once the context is
+ * refreshed, so a slow route only throttles itself. Its initial limit comes
+ * from {@code admission.routes} (pattern=initialLimit, comma separated) or
+ * {@code admission.default-limit}; paths no handler maps share one fallback
+ * limiter. Limits adapt AIMD-style: each fast, successful call
+ * raises the limit by 1/limit, each slow (over {@code admission.slow-ms}) or
+ * 5xx call cuts it by 10%. A request over the limit waits in a short
+ * bounded queue; if the queue is full or the wait times out it gets an
+ * immediate 503 with Retry-After.
+ *
+ * Controllers that return Mono run async, so the permit is held until the
+ * async request completes, not just until the handler returns.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_ROUTE = "*";
+
+    /** Route pattern → limiter, sorted so stats read in a stable order. */
+    private final Map<String, AimdLimiter> limiters = new ConcurrentSkipListMap<>();
+    /** Patterns with variables or wildcards, checked when there's no exact match. */
+    private volatile List<PathPattern> templated = List.of();
+    private final Map<String, Integer> configuredLimits = new HashMap<>();
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+    private final int defaultLimit, minLimit, maxLimit, queueSize;
+    private final long queueTimeoutMs;
+    private final long slowNanos;
+    private final String retryAfter;
+
+    public AdmissionControlFilter(
+            ObjectProvider<RequestMappingHandlerMapping> handlerMappings,
+            @Value("${admission.routes:/api/predict=8,/api/multiPredict=8,/api/props=8,/api/portfolio/allocate=4}") String routes,
+            @Value("${admission.default-limit:64}") int defaultLimit,
+            @Value("${admission.min-limit:1}") int minLimit,
+            @Value("${admission.max-limit:256}") int maxLimit,
+            @Value("${admission.queue-size:16}") int queueSize,
+            @Value("${admission.queue-timeout-ms:50}") long queueTimeoutMs,
+            @Value("${admission.slow-ms:2000}") long slowMs,
+            @Value("${admission.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.handlerMappings = handlerMappings;
+        this.defaultLimit = defaultLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueSize = queueSize;
+        for (String r : routes.split(",")) {
+            String[] kv = r.trim().split("=");
+            if (kv.length == 2) {
+                configuredLimits.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+                addRoute(kv[0].trim());
+            }
+        }
+        limiters.put(DEFAULT_ROUTE, new AimdLimiter(defaultLimit, minLimit, maxLimit, queueSize));
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMs);
+        this.retryAfter = String.valueOf(retryAfterSeconds);
+    }
+
+    /** Gives every mapped {@code /api} handler pattern its own limiter. */
+    @EventListener(ContextRefreshedEvent.class)
+    void registerRoutes() {
+        List<PathPattern> withVars = new ArrayList<>();
+        handlerMappings.orderedStream().forEach(mapping -> {
+            for (RequestMappingInfo info : mapping.getHandlerMethods().keySet()) {
+                for (String pattern : info.getPatternValues()) {
+                    if (!pattern.startsWith("/api/") || pattern.startsWith("/api/admin/")) continue;
+                    addRoute(pattern);
+                    PathPattern parsed = PathPatternParser.defaultInstance.parse(pattern);
+                    if (parsed.hasPatternSyntax()) withVars.add(parsed);
+                }
+            }
+        });
+        templated = List.copyOf(withVars);
+    }
+
+    private void addRoute(String pattern) {
+        limiters.computeIfAbsent(pattern, p -> new AimdLimiter(
+            configuredLimits.getOrDefault(p, defaultLimit), minLimit, maxLimit, queueSize));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !path.startsWith("/api/") || path.startsWith("/api/admin/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String route = route(path(request));
+        AimdLimiter limiter = limiters.get(route);
+
+        if (!limiter.acquire(queueTimeoutMs)) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", retryAfter);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"overloaded\",\"route\":\"" + route + "\"}");
+            return;
+        }
+
+        long started = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                boolean failed = response.getStatus() >= 500;
+                limiter.release(System.nanoTime() - started > slowNanos || failed);
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            released.set(true);
+            limiter.release(true);
+            throw ex;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override public void onComplete(AsyncEvent e) { release.run(); }
+                @Override public void onTimeout(AsyncEvent e)  { release.run(); }
+                @Override public void onError(AsyncEvent e)    { release.run(); }
+                @Override public void onStartAsync(AsyncEvent e) { }
+            });
+        } else {
+            release.run();
+        }
+    }
+
+    /** Current limit, in-flight, queued and rejected counts per route. */
+    public List<Map<String, Object>> stats() {
+        List<Map<String, Object>> out = new ArrayList<>();
+        limiters.forEach((route, l) -> out.add(l.stats(route)));
+        return out;
+    }
+
+    /** The handler pattern serving {@code path}, or the fallback route. */
+    private String route(String path) {
+        if (limiters.containsKey(path)) return path;
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern p : templated) {
+            if (p.matches(container)) return p.getPatternString();
+        }
+        return DEFAULT_ROUTE;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /** Additive-increase / multiplicative-decrease concurrency limit with a bounded wait queue. */
+    static final class AimdLimiter {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition freed = lock.newCondition();
+        private final int minLimit, maxLimit, queueSize;
+        private double limit;
+        private int inFlight, waiting;
+        private final LongAdder rejected = new LongAdder();
+
+        AimdLimiter(int initial, int minLimit, int maxLimit, int queueSize) {
+            this.limit = initial;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.queueSize = queueSize;
+        }
+
+        boolean acquire(long timeoutMs) {
+            lock.lock();
+            try {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                    return true;
+                }
+                if (waiting >= queueSize) {
+                    rejected.increment();
+                    return false;
+                }
+                waiting++;
+                try {
+                    long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+                    while (inFlight >= (int) limit) {
+                        if (nanos <= 0) {
+                            rejected.increment();
+                            return false;
+                        }
+                        nanos = freed.awaitNanos(nanos);
+                    }
+                    inFlight++;
+                    return true;
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    rejected.increment();
+                    return false;
+                } finally {
+                    waiting--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(boolean slowOrFailed) {
+            lock.lock();
+            try {
+                inFlight--;
+                if (slowOrFailed) {
+                    limit = Math.max(minLimit, limit * 0.9);
+                } else if (inFlight + 1 >= (int) limit) {
+                    // only grow while the limit is actually the bottleneck
+                    limit = Math.min(maxLimit, limit + 1.0 / limit);
+                }
+                freed.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Map<String, Object> stats(String route) {
+            lock.lock();
+            try {
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("route",    route);
+                m.put("limit",    (int) limit);
+                m.put("inFlight", inFlight);
+                m.put("queued",   waiting);
+                m.put("rejected", rejected.sum());
+                return m;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -5,20 +5,26 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.*;
 
 @Service
 public class ArbitrageService {
     private final WebClient client;
+    private final OddsBook oddsBook;
+    private final GamesService gamesService;
 
-    public ArbitrageService(WebClient.Builder builder,
+    public ArbitrageService(UpstreamTransport transport,
+                            OddsBook oddsBook,
+                            GamesService gamesService,
                             @Value("${apisports.host}") String host,
                             @Value("${apisports.key}") String apiKey) {
-        this.client = builder
-            .baseUrl("https://" + host)
+        this.client = transport.client("https://" + host)
             .defaultHeader("x-apisports-key", apiKey)
             .build();
+        this.oddsBook = oddsBook;
+        this.gamesService = gamesService;
     }
 
     /**
@@ -27,9 +33,9 @@ public class ArbitrageService {
      *   gameId, bookmaker, homeOdds, awayOdds, evHomePercent, evAwayPercent
      */
     public List<Map<String,Object>> findEvsForGame(String gameId) {
-        List<Map<String,Object>> evs = new ArrayList<>();
-
-        // 1) Get odds for that game
+        // 1) Get odds for that game and fold them into the shared book,
+        //    under the same key as other providers' prices for it
+        linkGame(gameId);
         JsonNode oddsRoot = client.get()
             .uri(uri -> uri.path("/odds")
                 .queryParam("game", gameId)
@@ -37,63 +43,56 @@ public class ArbitrageService {
             .retrieve()
             .bodyToMono(JsonNode.class)
             .block();
+        oddsBook.ingestApiSports(gameId, oddsRoot);
 
-        JsonNode resp = oddsRoot.path("response");
-        if (!resp.isArray() || resp.isEmpty()) {
-            return evs; // no odds at all
-        }
+        return evsFromBook(gameId);
+    }
 
-        JsonNode books = resp.get(0).path("bookmakers");
-        if (!books.isArray() || books.isEmpty()) {
-            return evs; // no bookmakers
+    /** Links an apisports game id to its canonical {@link OddsBook} key, once. */
+    private void linkGame(String gameId) {
+        if (oddsBook.isLinked(gameId)) return;
+        GamesService.GameRecord g = gamesService.fetchGame(gameId)
+            .onErrorResume(ex -> Mono.empty())
+            .block();
+        if (g != null) {
+            oddsBook.link(gameId, g.date, g.homeName, g.awayName);
         }
+    }
 
-        // 2) Find Pinnacle to compute implied probabilities
-        Optional<JsonNode> pin = findBook(books, "Pinnacle");
-        if (pin.isEmpty()) {
-            return evs; // no Pinnacle → can’t compute EV
-        }
-        JsonNode pinVals = pin.get().path("bets").get(0).path("values");
-        double pinHome = safeParse(pinVals.get(0).path("odd").asText());
-        double pinAway = safeParse(pinVals.get(1).path("odd").asText());
-        double impHome = 1.0 / pinHome;
-        double impAway = 1.0 / pinAway;
+    /**
+     * EV rows for every bookmaker in the moneyline market currently held in
+     * the {@link OddsBook}, priced against the sharp book. Empty when the
+     * market or the sharp reference is missing.
+     */
+    public List<Map<String,Object>> evsFromBook(String gameId) {
+        List<Map<String,Object>> evs = new ArrayList<>();
 
-        // 3) For **every** bookmaker (including those with negative EV), compute EV
-        for (JsonNode book : books) {
-            String name = book.path("name").asText();
-            JsonNode vals = book.path("bets").get(0).path("values");
-            if (!vals.isArray() || vals.size() < 2) continue;
+        OddsBook.Market market = oddsBook.market(gameId, OddsBook.MONEYLINE);
+        if (market == null) {
+            return evs; // no odds at all
+        }
+        OddsBook.Outcome home = market.outcome(OddsBook.HOME);
+        OddsBook.Outcome away = market.outcome(OddsBook.AWAY);
+        if (home == null || away == null || !home.hasSharp() || !away.hasSharp()) {
+            return evs; // no sharp reference → can’t compute EV
+        }
 
-            double oHome = safeParse(vals.get(0).path("odd").asText());
-            double oAway = safeParse(vals.get(1).path("odd").asText());
-            double evHome = (impHome - (1.0 / oHome)) * 100;
-            double evAway = (impAway - (1.0 / oAway)) * 100;
+        // 2) For **every** bookmaker (including those with negative EV), compute EV
+        for (String name : market.books) {
+            double oHome = home.price(name);
+            double oAway = away.price(name);
+            if (Double.isNaN(oHome) || Double.isNaN(oAway)) continue;
 
             Map<String,Object> entry = new LinkedHashMap<>();
             entry.put("gameId",        gameId);
             entry.put("bookmaker",     name);
             entry.put("homeOdds",      oHome);
             entry.put("awayOdds",      oAway);
-            entry.put("evHomePercent", evHome);
-            entry.put("evAwayPercent", evAway);
+            entry.put("evHomePercent", OddsBook.evPercent(home.sharpPrice, oHome));
+            entry.put("evAwayPercent", OddsBook.evPercent(away.sharpPrice, oAway));
             evs.add(entry);
         }
 
         return evs;
     }
-
-    private Optional<JsonNode> findBook(JsonNode books, String target) {
-        for (JsonNode b : books) {
-            if (target.equalsIgnoreCase(b.path("name").asText())) {
-                return Optional.of(b);
-            }
-        }
-        return Optional.empty();
-    }
-
-    private double safeParse(String s) {
-        try { return Double.parseDouble(s); }
-        catch (Exception e) { return 0.0; }
-    }
 }
@@ -0,0 +1,358 @@
+package com.edgefinder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Sizes a whole slate of simultaneous +EV bets at once.
+ *
+ * Maximizes expected log bankroll growth (simultaneous Kelly) over a Monte
+ * Carlo sample of joint outcomes, by projected gradient ascent, subject to
+ * per-bet, per-game, per-book and total exposure caps. Outcomes in one
+ * market share a latent draw and each distinct outcome owns its own
+ * probability band of it (so Home and Away, or Over and Under, can't both
+ * win); every market in a game shares a game factor with correlation
+ * {@code rho}, so a moneyline and same-game props are sized together rather
+ * than independently.
+ *
+ * Everything inside the optimizer is flat primitive arrays; the scenario
+ * sweep for each gradient step is split across cores.
+ */
+@Service
+public class BankrollAllocator {
+
+    private final ArbitrageService arbitrageService;
+    private final int scenarios;
+    private final int iterations;
+    private final double rho;
+
+    public BankrollAllocator(ArbitrageService arbitrageService,
+                             @Value("${portfolio.scenarios:4000}") int scenarios,
+                             @Value("${portfolio.iterations:150}") int iterations,
+                             @Value("${portfolio.same-game-correlation:0.3}") double rho) {
+        this.arbitrageService = arbitrageService;
+        this.scenarios = scenarios;
+        this.iterations = iterations;
+        this.rho = rho;
+    }
+
+    /**
+     * Builds moneyline candidates from {@link ArbitrageService#evsFromBook} rows
+     * for each game and the model's home win probability, keeping only sides
+     * with a positive edge, then allocates them together with {@code extra}.
+     */
+    public Portfolio allocateForGames(Map<String, Double> homeProbByGame,
+                                      List<Candidate> extra,
+                                      Limits limits) {
+        List<Candidate> candidates = new ArrayList<>(extra);
+        for (Map.Entry<String, Double> g : homeProbByGame.entrySet()) {
+            double pHome = g.getValue();
+            for (Map<String, Object> row : arbitrageService.evsFromBook(g.getKey())) {
+                String book = (String) row.get("bookmaker");
+                double homeOdds = (Double) row.get("homeOdds");
+                double awayOdds = (Double) row.get("awayOdds");
+                if (pHome * homeOdds > 1) {
+                    candidates.add(new Candidate(g.getKey(), book, OddsBook.MONEYLINE, OddsBook.HOME, homeOdds, pHome));
+                }
+                if ((1 - pHome) * awayOdds > 1) {
+                    candidates.add(new Candidate(g.getKey(), book, OddsBook.MONEYLINE, OddsBook.AWAY, awayOdds, 1 - pHome));
+                }
+            }
+        }
+        return allocate(candidates, limits);
+    }
+
+    public Portfolio allocate(List<Candidate> candidates, Limits limits) {
+        long started = System.nanoTime();
+        int n = candidates.size();
+        if (n == 0) {
+            return new Portfolio(List.of(), 0, 0, 0);
+        }
+
+        // ---- flatten to primitive arrays ----
+        double[] odds = new double[n];
+        double[] prob = new double[n];
+        int[] game = new int[n];
+        int[] book = new int[n];
+        int[] market = new int[n];
+        double[] bandStart = new double[n];
+        Map<String, Integer> games = new HashMap<>(), books = new HashMap<>(), markets = new HashMap<>();
+        // per market: each distinct outcome's widest probability across books
+        Map<String, Map<String, Double>> outcomeProb = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            Candidate c = candidates.get(i);
+            if (c == null || c.gameId == null || c.bookmaker == null || c.market == null || c.outcome == null) {
+                throw new IllegalArgumentException("Each candidate needs gameId, bookmaker, market and outcome");
+            }
+            if (c.odds <= 1.0 || c.prob <= 0 || c.prob >= 1) {
+                throw new IllegalArgumentException("Invalid odds/prob for " + c.gameId + " " + c.outcome);
+            }
+            odds[i] = c.odds;
+            prob[i] = c.prob;
+            String marketKey = c.gameId + '|' + c.market;
+            game[i] = games.computeIfAbsent(c.gameId, k -> games.size());
+            book[i] = books.computeIfAbsent(c.bookmaker.toLowerCase(), k -> books.size());
+            market[i] = markets.computeIfAbsent(marketKey, k -> markets.size());
+            outcomeProb.computeIfAbsent(marketKey, k -> new LinkedHashMap<>())
+                       .merge(c.outcome.toLowerCase(), c.prob, Math::max);
+        }
+
+        // lay the outcomes of each market end to end on [0, 1)
+        Map<String, Double> bandStarts = new HashMap<>();
+        for (Map.Entry<String, Map<String, Double>> mk : outcomeProb.entrySet()) {
+            double used = 0;
+            for (Map.Entry<String, Double> o : mk.getValue().entrySet()) {
+                bandStarts.put(mk.getKey() + '|' + o.getKey(), used);
+                used += o.getValue();
+            }
+            if (used > 1 + 1e-9) {
+                throw new IllegalArgumentException("Outcome probabilities in " + mk.getKey()
+                        + " add up to more than 1");
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            Candidate c = candidates.get(i);
+            bandStart[i] = bandStarts.get(c.gameId + '|' + c.market + '|' + c.outcome.toLowerCase());
+        }
+        int[] marketGame = new int[markets.size()];
+        for (int i = 0; i < n; i++) marketGame[market[i]] = game[i];
+
+        // ---- simulate joint outcomes: net return per unit stake ----
+        int s = scenarios;
+        float[] ret = simulate(odds, prob, market, bandStart, marketGame, games.size(), s, limits.seed);
+
+        // ---- projected gradient ascent on E[log W] ----
+        double[] f = new double[n];
+        for (int i = 0; i < n; i++) {
+            f[i] = Math.max(0, (prob[i] * odds[i] - 1) / (odds[i] - 1)); // single-bet Kelly
+        }
+        project(f, game, games.size(), book, books.size(), limits);
+
+        int chunks = Math.max(1, Math.min(s / 256, Runtime.getRuntime().availableProcessors() * 4));
+        int per = (s + chunks - 1) / chunks;
+        double growth = 0;
+        for (int it = 0; it < iterations; it++) {
+            final double[] fc = f;
+            double[][] partial = new double[chunks][];
+            double[] partialGrowth = new double[chunks];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                double[] g = new double[n];
+                double lg = 0;
+                int end = Math.min(s, (c + 1) * per);
+                for (int k = c * per; k < end; k++) {
+                    int row = k * n;
+                    double w = 1;
+                    for (int i = 0; i < n; i++) w += fc[i] * ret[row + i];
+                    double inv = 1 / w;
+                    for (int i = 0; i < n; i++) g[i] += ret[row + i] * inv;
+                    lg += Math.log(w);
+                }
+                partial[c] = g;
+                partialGrowth[c] = lg;
+            });
+            double[] grad = new double[n];
+            growth = 0;
+            for (int c = 0; c < chunks; c++) {
+                for (int i = 0; i < n; i++) grad[i] += partial[c][i];
+                growth += partialGrowth[c];
+            }
+            growth /= s;
+
+            double step = 0.5 / Math.sqrt(it + 1);
+            double moved = 0;
+            double[] next = new double[n];
+            for (int i = 0; i < n; i++) {
+                next[i] = f[i] + step * grad[i] / s;
+            }
+            project(next, game, games.size(), book, books.size(), limits);
+            for (int i = 0; i < n; i++) moved = Math.max(moved, Math.abs(next[i] - f[i]));
+            f = next;
+            if (moved < 1e-6) break;
+        }
+
+        // ---- fractional Kelly, then caps again ----
+        for (int i = 0; i < n; i++) f[i] *= limits.kellyFraction;
+        project(f, game, games.size(), book, books.size(), limits);
+
+        List<Allocation> out = new ArrayList<>(n);
+        double exposure = 0;
+        for (int i = 0; i < n; i++) {
+            Candidate c = candidates.get(i);
+            exposure += f[i];
+            out.add(new Allocation(c, prob[i] * odds[i] - 1, f[i], f[i] * limits.bankroll));
+        }
+        out.sort(Comparator.comparingDouble((Allocation a) -> -a.stake));
+        return new Portfolio(out, exposure * limits.bankroll, growth,
+                             (System.nanoTime() - started) / 1_000_000.0);
+    }
+
+    /**
+     * Row-major [scenario][bet] net return per unit staked: odds−1 on a win, −1 on a loss.
+     * Each market's latent is sqrt(rho)·gameFactor + sqrt(1−rho)·noise, and a bet
+     * wins when the latent's quantile falls in [bandStart, bandStart + prob), so
+     * different outcomes of one market never win together.
+     */
+    private float[] simulate(double[] odds, double[] prob, int[] market, double[] bandStart,
+                             int[] marketGame, int gameCount, int s, long seed) {
+        int n = odds.length;
+        int m = marketGame.length;
+        double[] lower = new double[n];
+        double[] upper = new double[n];
+        for (int i = 0; i < n; i++) {
+            double end = bandStart[i] + prob[i];
+            lower[i] = bandStart[i] <= 0 ? Double.NEGATIVE_INFINITY : inverseNormalCdf(bandStart[i]);
+            upper[i] = end >= 1 ? Double.POSITIVE_INFINITY : inverseNormalCdf(end);
+        }
+        double load = Math.sqrt(rho), noise = Math.sqrt(1 - rho);
+        float[] ret = new float[s * n];
+        int chunks = Math.max(1, Runtime.getRuntime().availableProcessors() * 4);
+        int per = (s + chunks - 1) / chunks;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] rngs = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) rngs[c] = root.split();
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            SplittableRandom rnd = rngs[c];
+            double[] z = new double[gameCount];
+            double[] x = new double[m];
+            int end = Math.min(s, (c + 1) * per);
+            for (int k = c * per; k < end; k++) {
+                for (int g = 0; g < gameCount; g++) z[g] = rnd.nextGaussian();
+                for (int j = 0; j < m; j++) x[j] = load * z[marketGame[j]] + noise * rnd.nextGaussian();
+                int row = k * n;
+                for (int i = 0; i < n; i++) {
+                    double v = x[market[i]];
+                    boolean win = v >= lower[i] && v < upper[i];
+                    ret[row + i] = win ? (float) (odds[i] - 1) : -1f;
+                }
+            }
+        });
+        return ret;
+    }
+
+    /** Clips to [0, maxPerBet], then scales down any game, book or the total over its cap. */
+    private static void project(double[] f, int[] game, int gameCount, int[] book, int bookCount, Limits l) {
+        for (int i = 0; i < f.length; i++) {
+            f[i] = Math.min(Math.max(f[i], 0), l.maxPerBet);
+        }
+        scaleGroups(f, game, gameCount, l.maxPerGame);
+        scaleGroups(f, book, bookCount, l.maxPerBook);
+        double total = 0;
+        for (double v : f) total += v;
+        if (total > l.maxTotal) {
+            double k = l.maxTotal / total;
+            for (int i = 0; i < f.length; i++) f[i] *= k;
+        }
+    }
+
+    private static void scaleGroups(double[] f, int[] group, int groupCount, double cap) {
+        double[] sum = new double[groupCount];
+        for (int i = 0; i < f.length; i++) sum[group[i]] += f[i];
+        for (int i = 0; i < f.length; i++) {
+            if (sum[group[i]] > cap) f[i] *= cap / sum[group[i]];
+        }
+    }
+
+    /** Acklam's rational approximation of the standard normal quantile. */
+    static double inverseNormalCdf(double p) {
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                            6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                            3.754408661907416e+00};
+        final double low = 0.02425;
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0]*q + c[1])*q + c[2])*q + c[3])*q + c[4])*q + c[5])
+                 / ((((d[0]*q + d[1])*q + d[2])*q + d[3])*q + 1);
+        }
+        if (p > 1 - low) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((c[0]*q + c[1])*q + c[2])*q + c[3])*q + c[4])*q + c[5])
+                  / ((((d[0]*q + d[1])*q + d[2])*q + d[3])*q + 1);
+        }
+        double q = p - 0.5, r = q * q;
+        return (((((a[0]*r + a[1])*r + a[2])*r + a[3])*r + a[4])*r + a[5])*q
+             / (((((b[0]*r + b[1])*r + b[2])*r + b[3])*r + b[4])*r + 1);
+    }
+
+    // ---------- Request / response shapes ----------
+
+    /** One bet on offer: decimal odds at a book plus the model's win probability. */
+    public static class Candidate {
+        public String gameId;
+        public String bookmaker;
+        public String market = OddsBook.MONEYLINE;
+        public String outcome;
+        public double odds;
+        public double prob;
+
+        public Candidate() { }
+
+        public Candidate(String gameId, String bookmaker, String market,
+                         String outcome, double odds, double prob) {
+            this.gameId    = gameId;
+            this.bookmaker = bookmaker;
+            this.market    = market;
+            this.outcome   = outcome;
+            this.odds      = odds;
+            this.prob      = prob;
+        }
+    }
+
+    /** Caps are fractions of bankroll. */
+    public static class Limits {
+        public double bankroll = 1000;
+        public double kellyFraction = 0.5;
+        public double maxPerBet = 0.05;
+        public double maxPerGame = 0.10;
+        public double maxPerBook = 0.25;
+        public double maxTotal = 0.50;
+        public long seed = 42;
+    }
+
+    public static class Allocation {
+        public final String gameId;
+        public final String bookmaker;
+        public final String market;
+        public final String outcome;
+        public final double odds;
+        public final double prob;
+        public final double edge;
+        public final double fraction;
+        public final double stake;
+
+        Allocation(Candidate c, double edge, double fraction, double stake) {
+            this.gameId    = c.gameId;
+            this.bookmaker = c.bookmaker;
+            this.market    = c.market;
+            this.outcome   = c.outcome;
+            this.odds      = c.odds;
+            this.prob      = c.prob;
+            this.edge      = edge;
+            this.fraction  = fraction;
+            this.stake     = stake;
+        }
+    }
+
+    public static class Portfolio {
+        public final List<Allocation> allocations;
+        public final double totalStake;
+        /** Mean log growth of the full-Kelly solution over the simulated scenarios. */
+        public final double expectedLogGrowth;
+        public final double elapsedMs;
+
+        Portfolio(List<Allocation> allocations, double totalStake,
+                  double expectedLogGrowth, double elapsedMs) {
+            this.allocations       = allocations;
+            this.totalStake        = totalStake;
+            this.expectedLogGrowth = expectedLogGrowth;
+            this.elapsedMs         = elapsedMs;
+        }
+    }
+}
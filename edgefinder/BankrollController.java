@@ -0,0 +1,56 @@
+package com.edgefinder;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api")
+public class BankrollController {
+    private final BankrollAllocator allocator;
+
+    public BankrollController(BankrollAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    /**
+     * POST /api/portfolio/allocate
+     * {
+     *   "games":      { "12345": 0.56 },       // model home win prob per gameId
+     *   "candidates": [ { gameId, bookmaker, market, outcome, odds, prob } ],
+     *   "limits":     { bankroll, kellyFraction, maxPerBet, maxPerGame, maxPerBook, maxTotal }
+     * }
+     * Moneyline candidates for each entry in "games" are built from the EV rows
+     * already in the odds book; explicit candidates (e.g. props) are added as-is.
+     */
+    @PostMapping("/portfolio/allocate")
+    public ResponseEntity<BankrollAllocator.Portfolio> allocate(@RequestBody AllocateRequest body) {
+        Map<String, Double> games = body.games != null ? body.games : Map.of();
+        List<BankrollAllocator.Candidate> candidates = body.candidates != null ? body.candidates : List.of();
+        BankrollAllocator.Limits limits = body.limits != null ? body.limits : new BankrollAllocator.Limits();
+        for (Map.Entry<String, Double> g : games.entrySet()) {
+            if (g.getValue() == null || g.getValue() <= 0 || g.getValue() >= 1) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Home win probability for " + g.getKey() + " must be between 0 and 1");
+            }
+        }
+        try {
+            var result = allocator.allocateForGames(games, candidates, limits);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    public static class AllocateRequest {
+        public Map<String, Double> games = new LinkedHashMap<>();
+        public List<BankrollAllocator.Candidate> candidates = new ArrayList<>();
+        public BankrollAllocator.Limits limits = new BankrollAllocator.Limits();
+    }
+}
@@ -0,0 +1,138 @@
+package com.edgefinder;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+/**
+ * Elo team ratings over every completed game in {@link ScheduleHistoryService},
+ * used as the "season strength" factor in the win-probability services in
+ * place of raw W/(W+L).
+ *
+ * Ratings live in a double[] indexed by the history's dense team index.
+ * Each game moves both teams by K × MOV multiplier × (result − expected),
+ * where expected includes a home-field bonus and the margin-of-victory
+ * multiplier is damped when the favourite wins big (FiveThirtyEight style).
+ * At each new season ratings regress part of the way back to the mean.
+ * A full recompute is one pass over the history arrays; afterwards each
+ * newly Final game is applied incrementally.
+ */
+@Component
+public class EloRatingEngine implements ScheduleHistoryService.Listener {
+    private static final Logger log = LoggerFactory.getLogger(EloRatingEngine.class);
+    private static final double MEAN = 1500;
+
+    private final ScheduleHistoryService history;
+    private final double k;
+    private final double homeField;
+    private final double regression;
+
+    private double[] ratings = new double[0];
+    private int ratedSeason = Integer.MIN_VALUE;
+    private volatile boolean ready;
+
+    public EloRatingEngine(ScheduleHistoryService history,
+                           @Value("${elo.k:4}") double k,
+                           @Value("${elo.home-field:24}") double homeField,
+                           @Value("${elo.season-regression:0.33}") double regression) {
+        this.history = history;
+        this.k = k;
+        this.homeField = homeField;
+        this.regression = regression;
+    }
+
+    @PostConstruct
+    void register() {
+        history.addListener(this);
+    }
+
+    @Override
+    public void onHistoryLoaded() {
+        recompute();
+    }
+
+    @Override
+    public synchronized void onFinal(int season, ScheduleHistoryService.SeasonGames games, int i) {
+        // history delivers finals only after onHistoryLoaded; before a recompute the
+        // game is already in the arrays and will be rated by it
+        if (!ready) return;
+        synchronized (games) {
+            apply(season, games, i);
+        }
+    }
+
+    /** Rebuilds every rating from scratch, oldest season first. */
+    public synchronized void recompute() {
+        long started = System.nanoTime();
+        ratings = new double[history.teamCount()];
+        Arrays.fill(ratings, MEAN);
+        ratedSeason = Integer.MIN_VALUE;
+        int games = 0;
+        for (int season : history.seasons()) {
+            ScheduleHistoryService.SeasonGames sg = history.season(season);
+            synchronized (sg) {
+                for (int i = 0; i < sg.count(); i++) {
+                    apply(season, sg, i);
+                }
+                games += sg.count();
+            }
+        }
+        ready = true;
+        log.info("Elo recomputed over {} games in {} ms", games, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** P(home wins) from current ratings, or empty until ratings exist for both teams. */
+    public synchronized OptionalDouble homeWinProbability(int homeTeamId, int awayTeamId) {
+        return expected(history.indexOf(homeTeamId), history.indexOf(awayTeamId));
+    }
+
+    /** Same as {@link #homeWinProbability(int, int)} but by full team name. */
+    public synchronized OptionalDouble homeWinProbabilityByName(String homeName, String awayName) {
+        return expected(history.indexOfName(homeName), history.indexOfName(awayName));
+    }
+
+    public synchronized OptionalDouble rating(int teamId) {
+        int idx = history.indexOf(teamId);
+        return ready && idx >= 0 && idx < ratings.length ? OptionalDouble.of(ratings[idx]) : OptionalDouble.empty();
+    }
+
+    private OptionalDouble expected(int h, int a) {
+        if (!ready || h < 0 || a < 0 || h >= ratings.length || a >= ratings.length) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(winExpectancy(ratings[h] + homeField - ratings[a]));
+    }
+
+    private void apply(int season, ScheduleHistoryService.SeasonGames g, int i) {
+        if (season != ratedSeason) {
+            for (int t = 0; t < ratings.length; t++) {
+                ratings[t] = MEAN + (ratings[t] - MEAN) * (1 - regression);
+            }
+            ratedSeason = season;
+        }
+        int h = g.home(i), a = g.away(i);
+        if (Math.max(h, a) >= ratings.length) {
+            int old = ratings.length;
+            ratings = Arrays.copyOf(ratings, history.teamCount());
+            Arrays.fill(ratings, old, ratings.length, MEAN);
+        }
+        double diff = ratings[h] + homeField - ratings[a];
+        double expHome = winExpectancy(diff);
+        int margin = g.homeRuns(i) - g.awayRuns(i);
+        double result = margin > 0 ? 1 : 0;
+        double winnerDiff = margin > 0 ? diff : -diff;
+        double mov = Math.log(Math.abs(margin) + 1) * (2.2 / (winnerDiff * 0.001 + 2.2));
+        double delta = k * mov * (result - expHome);
+        ratings[h] += delta;
+        ratings[a] -= delta;
+    }
+
+    private static double winExpectancy(double diff) {
+        return 1.0 / (1.0 + Math.pow(10, -diff / 400.0));
+    }
+}
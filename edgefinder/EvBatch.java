@@ -0,0 +1,411 @@
+package com.edgefinder;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Offline bulk mode for {@link EvCli}: runs the same EV math over a CSV or
+ * NDJSON file of (prob, odds[, oppOdds]) rows.
+ *
+ * The input is memory-mapped in newline-aligned chunks and parsed straight
+ * from the mapped bytes (no per-row Strings). Chunks are processed on a
+ * thread pool and written in input order. Each chunk hands its output over
+ * in {@value #SLICE_BYTES}-byte slices through a small bounded queue that
+ * the writer drains as soon as that chunk is next, so heap use is about
+ * in-flight chunks × {@value #QUEUED_SLICES} slices whatever the chunk size
+ * or how much longer output rows are than input rows.
+ *
+ * <pre>
+ * java com.edgefinder.EvCli --batch model.csv [--out ev.csv] [--format csv|ndjson]
+ *                           [--devig] [--kelly 0.5] [--threads 8] [--chunk-mb 32]
+ * </pre>
+ * CSV columns: prob,odds[,oppOdds]. NDJSON keys: "prob", "odds", "oppOdds".
+ * A header line or any row that doesn't parse is skipped and counted.
+ * With --devig and an oppOdds value, the implied probability is the
+ * proportional no-vig price: imp / (imp + impOpp).
+ */
+final class EvBatch {
+
+    static final int SLICE_BYTES = 1 << 20;
+    static final int QUEUED_SLICES = 4;
+    private static final byte[] END = new byte[0];
+
+    private final Path input;
+    private final OutputStream out;
+    private final boolean ndjson;
+    private final boolean devig;
+    private final double kelly;     // 0 = no Kelly column
+    private final int threads;
+    private final long chunkBytes;
+
+    private EvBatch(Path input, OutputStream out, boolean ndjson, boolean devig,
+                    double kelly, int threads, long chunkBytes) {
+        this.input = input;
+        this.out = out;
+        this.ndjson = ndjson;
+        this.devig = devig;
+        this.kelly = kelly;
+        this.threads = threads;
+        this.chunkBytes = chunkBytes;
+    }
+
+    static void run(String[] args) throws Exception {
+        Path input = null;
+        String outPath = null;
+        String format = null;
+        boolean devig = false;
+        double kelly = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long chunkMb = 32;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--batch":    input = Path.of(args[++i]); break;
+                case "--out":      outPath = args[++i]; break;
+                case "--format":   format = args[++i]; break;
+                case "--devig":    devig = true; break;
+                case "--kelly":    kelly = Double.parseDouble(args[++i]); break;
+                case "--threads":  threads = Integer.parseInt(args[++i]); break;
+                case "--chunk-mb": chunkMb = Long.parseLong(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (input == null) {
+            throw new IllegalArgumentException("--batch <file> is required");
+        }
+        if (chunkMb < 1 || chunkMb >= 2048) {
+            // a mapped region and the int offsets within it must stay under 2GB
+            throw new IllegalArgumentException("--chunk-mb must be between 1 and 2047");
+        }
+        boolean ndjson = format != null
+            ? format.equalsIgnoreCase("ndjson")
+            : input.toString().endsWith(".ndjson") || input.toString().endsWith(".jsonl");
+
+        OutputStream sink = outPath != null ? new FileOutputStream(outPath) : System.out;
+        try (OutputStream o = new BufferedOutputStream(sink, 1 << 20)) {
+            Stats s = new EvBatch(input, o, ndjson, devig, kelly, Math.max(1, threads), chunkMb << 20).process();
+            System.err.println(s.summary());
+        }
+    }
+
+    // ---------- Driver ----------
+
+    private Stats process() throws Exception {
+        long started = System.nanoTime();
+        Stats total = new Stats();
+        out.write((kelly > 0 ? "prob,odds,implied,ev,kelly\n" : "prob,odds,implied,ev\n")
+            .getBytes(StandardCharsets.US_ASCII));
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (FileChannel ch = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = ch.size();
+            Deque<Chunk> inFlight = new ArrayDeque<>();
+            long start = 0;
+            while (start < size) {
+                long end = nextLineStart(ch, Math.min(size, start + chunkBytes), size);
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                Chunk c = new Chunk();
+                c.done = pool.submit(() -> {
+                    try {
+                        parseChunk(buf, c);
+                    } finally {
+                        c.finish();
+                    }
+                    return null;
+                });
+                inFlight.addLast(c);
+                start = end;
+                if (inFlight.size() >= threads * 2) {
+                    drainOne(inFlight, total);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                drainOne(inFlight, total);
+            }
+            total.bytes = size;
+        } finally {
+            pool.shutdownNow();
+        }
+        out.flush();
+        total.elapsedNanos = System.nanoTime() - started;
+        return total;
+    }
+
+    private void drainOne(Deque<Chunk> inFlight, Stats total) throws Exception {
+        Chunk c = inFlight.removeFirst();
+        for (byte[] slice = c.slices.take(); slice != END; slice = c.slices.take()) {
+            out.write(slice);
+        }
+        c.done.get(); // rethrows a parse failure
+        total.merge(c.stats);
+    }
+
+    /** First byte after the newline at or after {@code pos}, or {@code size}. */
+    private static long nextLineStart(FileChannel ch, long pos, long size) throws IOException {
+        if (pos >= size) return size;
+        java.nio.ByteBuffer probe = java.nio.ByteBuffer.allocate(64 * 1024);
+        while (pos < size) {
+            probe.clear();
+            int n = ch.read(probe, pos);
+            if (n <= 0) return size;
+            for (int i = 0; i < n; i++) {
+                if (probe.get(i) == '\n') return pos + i + 1;
+            }
+            pos += n;
+        }
+        return size;
+    }
+
+    // ---------- Per-chunk work ----------
+
+    private void parseChunk(MappedByteBuffer buf, Chunk c) throws InterruptedException {
+        double[] row = new double[3];
+        int lim = buf.limit();
+        int lineStart = 0;
+        for (int i = 0; i <= lim; i++) {
+            if (i == lim || buf.get(i) == '\n') {
+                int lineEnd = i;
+                if (lineEnd > lineStart && buf.get(lineEnd - 1) == '\r') lineEnd--;
+                if (lineEnd > lineStart) {
+                    int fields = ndjson ? parseJson(buf, lineStart, lineEnd, row)
+                                        : parseCsv(buf, lineStart, lineEnd, row);
+                    if (fields >= 2) emit(c, row[0], row[1], fields >= 3 ? row[2] : Double.NaN);
+                    else c.stats.skipped++;
+                    if (c.out.len >= SLICE_BYTES) c.flush();
+                }
+                lineStart = i + 1;
+            }
+        }
+    }
+
+    private void emit(Chunk c, double prob, double odds, double oppOdds) {
+        double implied = EvCli.impliedProbability(odds);
+        if (devig && !Double.isNaN(oppOdds)) {
+            implied = implied / (implied + EvCli.impliedProbability(oppOdds));
+        }
+        double ev = prob - implied;
+        Bytes o = c.out;
+        o.fixed(prob, 6).put(',').fixed(odds, 0).put(',').fixed(implied, 6).put(',').fixed(ev, 6);
+        double f = 0;
+        if (kelly > 0) {
+            double b = odds > 0 ? odds / 100.0 : 100.0 / -odds;
+            f = Math.max(0, (b * prob - (1 - prob)) / b) * kelly;
+            o.put(',').fixed(f, 6);
+        }
+        o.put('\n');
+        c.stats.add(ev, f);
+    }
+
+    /** Up to 3 comma-separated numbers into {@code row}; returns how many parsed, or 0. */
+    private static int parseCsv(MappedByteBuffer b, int from, int to, double[] row) {
+        int n = 0, start = from;
+        for (int i = from; i <= to && n < 3; i++) {
+            if (i == to || b.get(i) == ',') {
+                double v = parseNumber(b, start, i);
+                if (Double.isNaN(v)) return n >= 2 ? n : 0;
+                row[n++] = v;
+                start = i + 1;
+            }
+        }
+        return n;
+    }
+
+    private static final byte[] PROB = "\"prob\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ODDS = "\"odds\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OPP  = "\"oppOdds\"".getBytes(StandardCharsets.US_ASCII);
+
+    private static int parseJson(MappedByteBuffer b, int from, int to, double[] row) {
+        row[0] = jsonNumber(b, from, to, PROB);
+        row[1] = jsonNumber(b, from, to, ODDS);
+        if (Double.isNaN(row[0]) || Double.isNaN(row[1])) return 0;
+        row[2] = jsonNumber(b, from, to, OPP);
+        return Double.isNaN(row[2]) ? 2 : 3;
+    }
+
+    private static double jsonNumber(MappedByteBuffer b, int from, int to, byte[] key) {
+        outer:
+        for (int i = from; i + key.length <= to; i++) {
+            for (int k = 0; k < key.length; k++) {
+                if (b.get(i + k) != key[k]) continue outer;
+            }
+            int p = i + key.length;
+            while (p < to && (b.get(p) == ' ' || b.get(p) == ':')) p++;
+            int end = p;
+            while (end < to && b.get(end) != ',' && b.get(end) != '}' && b.get(end) != ' ') end++;
+            return parseNumber(b, p, end);
+        }
+        return Double.NaN;
+    }
+
+    /** Plain decimal number (optional sign, fraction, exponent) or NaN. */
+    static double parseNumber(MappedByteBuffer b, int from, int to) {
+        while (from < to && b.get(from) == ' ') from++;
+        while (to > from && b.get(to - 1) == ' ') to--;
+        if (from >= to) return Double.NaN;
+        boolean neg = false;
+        byte ch = b.get(from);
+        if (ch == '-' || ch == '+') { neg = ch == '-'; from++; }
+        long mant = 0;
+        int scale = 0, digits = 0;
+        boolean dot = false;
+        int i = from;
+        for (; i < to; i++) {
+            ch = b.get(i);
+            if (ch >= '0' && ch <= '9') {
+                if (mant < 100_000_000_000_000_000L) {
+                    mant = mant * 10 + (ch - '0');
+                    if (dot) scale--;
+                } else if (!dot) {
+                    scale++;
+                }
+                digits++;
+            } else if (ch == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) return Double.NaN;
+        if (i < to) {
+            if (b.get(i) != 'e' && b.get(i) != 'E') return Double.NaN;
+            int exp = 0;
+            boolean expNeg = false;
+            i++;
+            if (i < to && (b.get(i) == '-' || b.get(i) == '+')) expNeg = b.get(i++) == '-';
+            if (i >= to) return Double.NaN;
+            for (; i < to; i++) {
+                ch = b.get(i);
+                if (ch < '0' || ch > '9') return Double.NaN;
+                exp = exp * 10 + (ch - '0');
+            }
+            scale += expNeg ? -exp : exp;
+        }
+        double v = scale == 0 ? mant : scale > 0 ? mant * Math.pow(10, scale) : mant / Math.pow(10, -scale);
+        return neg ? -v : v;
+    }
+
+    // ---------- Small helpers ----------
+
+    private static final class Chunk {
+        final Bytes out = new Bytes(SLICE_BYTES + 256);
+        final BlockingQueue<byte[]> slices = new ArrayBlockingQueue<>(QUEUED_SLICES);
+        final Stats stats = new Stats();
+        Future<?> done;
+
+        /** Hands the current output to the writer; blocks while the queue is full. */
+        void flush() throws InterruptedException {
+            if (out.len == 0) return;
+            slices.put(Arrays.copyOf(out.buf, out.len));
+            out.len = 0;
+        }
+
+        /** Flushes what's left and marks the end, even after a failure. */
+        void finish() throws InterruptedException {
+            try {
+                flush();
+            } finally {
+                slices.put(END);
+            }
+        }
+    }
+
+    /** Growable byte buffer with allocation-free number formatting. */
+    private static final class Bytes {
+        byte[] buf;
+        int len;
+
+        Bytes(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        Bytes put(char c) {
+            ensure(1);
+            buf[len++] = (byte) c;
+            return this;
+        }
+
+        Bytes fixed(double v, int decimals) {
+            ensure(32);
+            if (Double.isNaN(v) || Double.isInfinite(v)) {
+                buf[len++] = 'N'; buf[len++] = 'a'; buf[len++] = 'N';
+                return this;
+            }
+            long pow = 1;
+            for (int i = 0; i < decimals; i++) pow *= 10;
+            long scaled = Math.round(Math.abs(v) * pow);
+            if (v < 0 && scaled != 0) buf[len++] = '-';
+            putLong(scaled / pow);
+            if (decimals > 0) {
+                buf[len++] = '.';
+                long frac = scaled % pow;
+                for (long p = pow / 10; p > 0; p /= 10) {
+                    buf[len++] = (byte) ('0' + (frac / p) % 10);
+                }
+            }
+            return this;
+        }
+
+        private void putLong(long v) {
+            if (v == 0) { buf[len++] = '0'; return; }
+            int start = len;
+            while (v > 0) { buf[len++] = (byte) ('0' + v % 10); v /= 10; }
+            for (int a = start, z = len - 1; a < z; a++, z--) {
+                byte t = buf[a]; buf[a] = buf[z]; buf[z] = t;
+            }
+        }
+
+        private void ensure(int n) {
+            if (len + n > buf.length) {
+                byte[] next = new byte[Math.max(buf.length * 2, len + n)];
+                System.arraycopy(buf, 0, next, 0, len);
+                buf = next;
+            }
+        }
+    }
+
+    private static final class Stats {
+        long rows, skipped, positive, bytes, elapsedNanos;
+        double evSum, kellySum;
+        double evMin = Double.POSITIVE_INFINITY, evMax = Double.NEGATIVE_INFINITY;
+
+        void add(double ev, double kelly) {
+            rows++;
+            evSum += ev;
+            kellySum += kelly;
+            if (ev > 0) positive++;
+            if (ev < evMin) evMin = ev;
+            if (ev > evMax) evMax = ev;
+        }
+
+        void merge(Stats o) {
+            rows += o.rows;
+            skipped += o.skipped;
+            positive += o.positive;
+            evSum += o.evSum;
+            kellySum += o.kellySum;
+            evMin = Math.min(evMin, o.evMin);
+            evMax = Math.max(evMax, o.evMax);
+        }
+
+        String summary() {
+            double secs = elapsedNanos / 1e9;
+            return String.format(
+                "rows=%d skipped=%d +EV=%d (%.2f%%) meanEV=%.4f%% minEV=%.4f%% maxEV=%.4f%% "
+                + "meanKelly=%.4f elapsed=%.2fs (%.1f MB/s, %.0f rows/s)",
+                rows, skipped, positive, rows > 0 ? 100.0 * positive / rows : 0,
+                rows > 0 ? 100 * evSum / rows : 0,
+                rows > 0 ? 100 * evMin : 0, rows > 0 ? 100 * evMax : 0,
+                rows > 0 ? kellySum / rows : 0,
+                secs, bytes / 1e6 / Math.max(secs, 1e-9), rows / Math.max(secs, 1e-9));
+        }
+    }
+}
@@ -3,7 +3,13 @@ package com.edgefinder;    // ← adjust to your package!
 import java.util.Scanner;
 
 public class EvCli {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        // bulk mode: java com.edgefinder.EvCli --batch file.csv [options], see EvBatch
+        if (args.length > 0) {
+            EvBatch.run(args);
+            return;
+        }
+
         Scanner in = new Scanner(System.in);
 
         System.out.print("Enter the true probability (decimal, e.g. 0.55): ");
@@ -20,9 +26,13 @@ public class EvCli {
 
     // exactly the same logic you have in JS:
     public static double calculateEv(double trueProb, int odds) {
-        double implied = (odds > 0)
+        return trueProb - impliedProbability(odds);
+    }
+
+    /** Implied probability of an American price. */
+    public static double impliedProbability(double odds) {
+        return (odds > 0)
             ? 100.0 / (odds + 100.0)
             : -odds / (100.0 + -odds);
-        return trueProb - implied;
     }
 }
@@ -0,0 +1,176 @@
+package com.edgefinder;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Slate-wide ranking of every positive-EV (game, market, outcome, book) price
+ * in the {@link OddsBook}, best first.
+ *
+ * Only the market that changed is re-priced: its previous entries are pulled
+ * out of the ranked set and the new ones inserted, so an odds refresh costs
+ * O(books × outcomes × log n) for that market. Besides the slate-wide set,
+ * entries are also ranked per bookmaker, per market name and per
+ * (bookmaker, market), so a filtered read walks the head of the matching
+ * skip list and stops after {@code limit} entries or once EV drops below
+ * {@code minEv}, however large the slate is.
+ */
+@Component
+public class EvLeaderboard {
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator
+        .comparingDouble((Entry e) -> -e.evPercent)
+        .thenComparing(e -> e.gameId)
+        .thenComparing(e -> e.market)
+        .thenComparing(e -> e.outcome)
+        .thenComparing(e -> e.bookmaker);
+
+    private final ConcurrentSkipListSet<Entry> ranked = new ConcurrentSkipListSet<>(BEST_FIRST);
+    /** Same entries ranked by "b:book", "m:market" and "bm:book|market" (lower-cased). */
+    private final Map<String, ConcurrentSkipListSet<Entry>> indexes = new ConcurrentHashMap<>();
+    private final Map<String, MarketEntries> byMarket = new ConcurrentHashMap<>();
+    private final OddsBook oddsBook;
+    private final String sharpBook;
+
+    public EvLeaderboard(OddsBook oddsBook) {
+        this.oddsBook = oddsBook;
+        this.sharpBook = oddsBook.sharpBook();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        oddsBook.addListener(this::onMarket);
+        oddsBook.markets().forEach(this::onMarket);
+    }
+
+    /**
+     * Top entries, best EV first.
+     *
+     * @param book   only this bookmaker (case-insensitive), or null for all
+     * @param minEv  minimum EV in percentage points; entries must also be positive
+     * @param market only this market name, or null for all
+     */
+    public List<Entry> top(int limit, String book, double minEv, String market) {
+        List<Entry> out = new ArrayList<>(Math.max(0, Math.min(limit, 64)));
+        ConcurrentSkipListSet<Entry> set;
+        if (book != null && market != null) set = indexes.get(bookMarketKey(book, market));
+        else if (book != null)               set = indexes.get(bookKey(book));
+        else if (market != null)             set = indexes.get(marketKey(market));
+        else                                 set = ranked;
+        if (set == null) return out;
+        for (Entry e : set) {
+            if (out.size() >= limit || e.evPercent < minEv) break;
+            out.add(e);
+        }
+        return out;
+    }
+
+    public int size() {
+        return ranked.size();
+    }
+
+    void onMarket(OddsBook.Market m) {
+        String key = m.gameId + '|' + m.market;
+        if (m.outcomes.isEmpty()) {
+            // evicted market: its next incarnation restarts at version 1
+            MarketEntries gone = byMarket.remove(key);
+            if (gone != null) gone.entries.forEach(this::remove);
+            return;
+        }
+        byMarket.compute(key, (k, old) -> {
+            if (old != null && old.version >= m.version) {
+                return old; // a newer snapshot already got here first
+            }
+            if (old != null) {
+                old.entries.forEach(this::remove);
+            }
+            List<Entry> entries = price(m);
+            entries.forEach(this::add);
+            return new MarketEntries(m.version, entries);
+        });
+    }
+
+    private void add(Entry e) {
+        ranked.add(e);
+        index(bookKey(e.bookmaker)).add(e);
+        index(marketKey(e.market)).add(e);
+        index(bookMarketKey(e.bookmaker, e.market)).add(e);
+    }
+
+    private void remove(Entry e) {
+        ranked.remove(e);
+        index(bookKey(e.bookmaker)).remove(e);
+        index(marketKey(e.market)).remove(e);
+        index(bookMarketKey(e.bookmaker, e.market)).remove(e);
+    }
+
+    private ConcurrentSkipListSet<Entry> index(String key) {
+        return indexes.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>(BEST_FIRST));
+    }
+
+    private static String bookKey(String book) {
+        return "b:" + book.toLowerCase();
+    }
+
+    private static String marketKey(String market) {
+        return "m:" + market.toLowerCase();
+    }
+
+    private static String bookMarketKey(String book, String market) {
+        return "bm:" + book.toLowerCase() + '|' + market.toLowerCase();
+    }
+
+    private List<Entry> price(OddsBook.Market m) {
+        List<Entry> entries = new ArrayList<>();
+        for (OddsBook.Outcome o : m.outcomes.values()) {
+            if (!o.hasSharp()) continue;
+            for (Map.Entry<String, Double> p : o.prices.entrySet()) {
+                if (p.getKey().equalsIgnoreCase(sharpBook)) continue;
+                double ev = OddsBook.evPercent(o.sharpPrice, p.getValue());
+                if (ev > 0) {
+                    entries.add(new Entry(m.gameId, m.market, o.name, p.getKey(),
+                                          p.getValue(), o.sharpPrice, ev));
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static final class MarketEntries {
+        final long version;
+        final List<Entry> entries;
+
+        MarketEntries(long version, List<Entry> entries) {
+            this.version = version;
+            this.entries = entries;
+        }
+    }
+
+    public static class Entry {
+        public final String gameId;
+        public final String market;
+        public final String outcome;
+        public final String bookmaker;
+        public final double odds;
+        public final double sharpOdds;
+        public final double evPercent;
+
+        public Entry(String gameId, String market, String outcome, String bookmaker,
+                     double odds, double sharpOdds, double evPercent) {
+            this.gameId    = gameId;
+            this.market    = market;
+            this.outcome   = outcome;
+            this.bookmaker = bookmaker;
+            this.odds      = odds;
+            this.sharpOdds = sharpOdds;
+            this.evPercent = evPercent;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.edgefinder;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Map;
@@ -10,9 +12,12 @@ import java.util.Map;
 @RequestMapping("/api")
 public class ExpectedValueController {
     private final ArbitrageService arbitrageService;
+    private final EvLeaderboard leaderboard;
 
-    public ExpectedValueController(ArbitrageService arbitrageService) {
+    public ExpectedValueController(ArbitrageService arbitrageService,
+                                   EvLeaderboard leaderboard) {
         this.arbitrageService = arbitrageService;
+        this.leaderboard = leaderboard;
     }
 
     /**
@@ -27,4 +32,22 @@ public class ExpectedValueController {
         var evs = arbitrageService.findEvsForGame(gameId);
         return ResponseEntity.ok(evs);
     }
+
+    /**
+     * GET /api/ev/top?limit=20&book=DraftKings&minEv=1.5&market=Home/Away
+     * Best positive-EV prices across every game currently in the odds book,
+     * highest EV first. All filters are optional.
+     */
+    @GetMapping("/ev/top")
+    public ResponseEntity<List<EvLeaderboard.Entry>> getTopEv(
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "book", required = false) String book,
+            @RequestParam(value = "minEv", defaultValue = "0") double minEv,
+            @RequestParam(value = "market", required = false) String market
+    ) {
+        if (limit < 1 || limit > 1000) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and 1000");
+        }
+        return ResponseEntity.ok(leaderboard.top(limit, book, minEv, market));
+    }
 }
@@ -0,0 +1,152 @@
+package com.edgefinder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Always-on Flight Recorder recording, so a latency spike can be looked at
+ * after the fact without restarting with flags.
+ *
+ * Uses the JDK's low-overhead "default" settings plus the events in
+ * {@link ProfilingEvents}, kept on disk for {@code jfr.max-age-minutes} /
+ * {@code jfr.max-size-mb}. {@link #dump(int)} writes just the last N minutes
+ * to a file; only the newest {@code jfr.dump.keep} dumps are kept on disk.
+ * Dumping is off unless {@code jfr.dump.enabled=true}.
+ */
+@Component
+public class FlightRecorderService {
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderService.class);
+    private static final DateTimeFormatter FILE_TS = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Path dumpDir;
+    private final boolean dumpEnabled;
+    private final int keepDumps;
+
+    private Recording recording;
+
+    public FlightRecorderService(@Value("${jfr.enabled:true}") boolean enabled,
+                                 @Value("${jfr.settings:default}") String settings,
+                                 @Value("${jfr.max-age-minutes:60}") long maxAgeMinutes,
+                                 @Value("${jfr.max-size-mb:256}") long maxSizeMb,
+                                 @Value("${jfr.dump-dir:${java.io.tmpdir}}") String dumpDir,
+                                 @Value("${jfr.dump.enabled:false}") boolean dumpEnabled,
+                                 @Value("${jfr.dump.keep:5}") int keepDumps) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.dumpDir = Path.of(dumpDir);
+        this.dumpEnabled = dumpEnabled;
+        this.keepDumps = Math.max(1, keepDumps);
+    }
+
+    @PostConstruct
+    synchronized void start() {
+        if (!enabled) return;
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight Recorder is not available in this JVM; continuous profiling is off");
+            return;
+        }
+        try {
+            Recording r = new Recording(Configuration.getConfiguration(settings));
+            r.setName("edgefinder-continuous");
+            r.setToDisk(true);
+            r.setMaxAge(maxAge);
+            r.setMaxSize(maxSizeBytes);
+            r.start();
+            recording = r;
+            log.info("Continuous JFR recording started ({} settings, max age {}, max size {} MB)",
+                     settings, maxAge, maxSizeBytes / (1024 * 1024));
+        } catch (Exception ex) {
+            log.warn("Could not start continuous JFR recording", ex);
+        }
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    public boolean isDumpEnabled() {
+        return dumpEnabled;
+    }
+
+    public Duration maxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Writes the events that ended in the last {@code minutes} minutes to a
+     * new .jfr file in {@code jfr.dump-dir} and returns its path.
+     */
+    public synchronized Path dump(int minutes) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Continuous JFR recording is not running");
+        }
+        if (minutes < 1) {
+            throw new IllegalArgumentException("minutes must be at least 1");
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(minutes));
+        Files.createDirectories(dumpDir);
+        Path raw = Files.createTempFile(dumpDir, "edgefinder-", ".jfr.part");
+        Path out = dumpDir.resolve("edgefinder-" + LocalDateTime.now().format(FILE_TS) + "-" + minutes + "m.jfr");
+        try {
+            recording.dump(raw);
+            try (RecordingFile file = new RecordingFile(raw)) {
+                // keep the recording's settings events so the dump still opens with context
+                file.write(out, e -> !e.getEndTime().isBefore(cutoff)
+                                  || e.getEventType().getName().startsWith("jdk.Active"));
+            }
+        } finally {
+            Files.deleteIfExists(raw);
+        }
+        log.info("Dumped last {} minutes of JFR data to {}", minutes, out);
+        pruneDumps();
+        return out;
+    }
+
+    /** Deletes all but the newest {@code jfr.dump.keep} dumps. */
+    private void pruneDumps() throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            dumps = files
+                .filter(p -> p.getFileName().toString().startsWith("edgefinder-")
+                          && p.getFileName().toString().endsWith(".jfr"))
+                .sorted(Comparator.comparing((Path p) -> p.toFile().lastModified()).reversed())
+                .toList();
+        }
+        for (Path old : dumps.subList(Math.min(keepDumps, dumps.size()), dumps.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.edgefinder;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
 @RestController
 public class GamesController {
     private final GamesService gamesService;
@@ -22,4 +30,23 @@ public class GamesController {
     ) {
         return gamesService.fetchGames(date, league, season, timezone);
     }
-}
\ No newline at end of file
+
+    /**
+     * Games for every day in [from, to], streamed as NDJSON while the days come in.
+     * A day that failed upstream appears as one {"date", "error"} line.
+     */
+    @GetMapping(value = "/api/games/range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> getGamesRange(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "league", defaultValue = "1") String league,
+            @RequestParam(value = "season", required = false) String season,
+            @RequestParam(value = "timezone", defaultValue = "America/New_York") String timezone
+    ) {
+        try {
+            return gamesService.fetchRange(from, to, league, season, timezone);
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+}
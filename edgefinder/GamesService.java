@@ -1,23 +1,65 @@
 package com.edgefinder;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 public class GamesService {
+    private static final Logger log = LoggerFactory.getLogger(GamesService.class);
+
     private final WebClient client;
+    private final int rangeConcurrency;
+    private final int maxRangeDays;
+    private final long todayTtlMs;
+
+    /** API-Sports short statuses after which a game's row won't change again. */
+    private static final Set<String> TERMINAL_STATUSES = Set.of("FT", "AOT", "POST", "CANC", "ABD");
+
+    /**
+     * Normalized games per (league, season, timezone, date), least recently
+     * used first. Days two or more back, and yesterday once every game on it
+     * is over, don't expire; anything else lives {@code games.range.today-ttl-ms}.
+     * The map holds at most {@code games.range.cache-days} entries.
+     */
+    private final Map<String, CachedDay> dayCache;
 
     public GamesService(
-            WebClient.Builder builder,
+            UpstreamTransport transport,
             @Value("${apisports.key}") String apiKey,
-            @Value("${apisports.host}") String host
+            @Value("${apisports.host}") String host,
+            @Value("${games.range.concurrency:8}") int rangeConcurrency,
+            @Value("${games.range.max-days:366}") int maxRangeDays,
+            @Value("${games.range.today-ttl-ms:60000}") long todayTtlMs,
+            @Value("${games.range.cache-days:2000}") int cacheDays
     ) {
-        this.client = builder
-                .baseUrl("https://" + host)
+        this.client = transport.client("https://" + host)
                 .defaultHeader("x-apisports-key", apiKey)
                 .build();
+        this.rangeConcurrency = rangeConcurrency;
+        this.maxRangeDays = maxRangeDays;
+        this.todayTtlMs = todayTtlMs;
+        this.dayCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedDay> eldest) {
+                return size() > cacheDays;
+            }
+        });
     }
 
     public Mono<String> fetchGames(String date,
@@ -35,4 +77,138 @@ public class GamesService {
                 .retrieve()
                 .bodyToMono(String.class);
     }
-}
\ No newline at end of file
+
+    /** One game by apisports id, or empty if the API doesn't know it. */
+    public Mono<GameRecord> fetchGame(String gameId) {
+        return client.get()
+                .uri(uri -> uri.path("/games").queryParam("id", gameId).build())
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .flatMap(root -> {
+                    JsonNode g = root.path("response").path(0);
+                    return g.isMissingNode() ? Mono.empty() : Mono.just(new GameRecord(g));
+                });
+    }
+
+    /**
+     * Every game from {@code from} to {@code to} inclusive, in date order.
+     * Up to {@code games.range.concurrency} days are fetched at once and each
+     * day's games are emitted as soon as it and the days before it are in,
+     * so only that window is ever held in memory. A season of null uses each
+     * day's year. A day that fails upstream is emitted as a {@link DayError}
+     * in its place, so callers can tell it from a day without games.
+     *
+     * @throws IllegalArgumentException for a reversed or too long range
+     * @throws java.time.DateTimeException for an unknown timezone
+     */
+    public Flux<Object> fetchRange(LocalDate from,
+                                       LocalDate to,
+                                       String league,
+                                       String season,
+                                       String timezone) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (days > maxRangeDays) {
+            throw new IllegalArgumentException("Range is limited to " + maxRangeDays + " days");
+        }
+        LocalDate today = LocalDate.now(ZoneId.of(timezone));
+        return Flux.range(0, (int) days)
+                .map(from::plusDays)
+                .flatMapSequential(day -> gamesForDay(day, today, league,
+                        season != null ? season : String.valueOf(day.getYear()), timezone),
+                        rangeConcurrency)
+                .flatMapIterable(list -> list);
+    }
+
+    private Mono<List<?>> gamesForDay(LocalDate day, LocalDate today,
+                                 String league, String season, String timezone) {
+        String key = league + '|' + season + '|' + timezone + '|' + day;
+        ProfilingEvents.CacheLookup ev = new ProfilingEvents.CacheLookup("games-day", key);
+        CachedDay cached = dayCache.get(key);
+        ev.hit = cached != null && cached.expiresAt > System.currentTimeMillis();
+        ev.commit();
+        if (ev.hit) {
+            return Mono.just(cached.games);
+        }
+        return client.get()
+                .uri(uri -> uri
+                        .path("/games")
+                        .queryParam("date", day)
+                        .queryParam("league", league)
+                        .queryParam("season", season)
+                        .queryParam("timezone", timezone)
+                        .build())
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .<List<?>>map(root -> {
+                    List<GameRecord> games = new ArrayList<>();
+                    for (JsonNode g : root.path("response")) {
+                        games.add(new GameRecord(g));
+                    }
+                    // a late West Coast or suspended game can still be live "yesterday"
+                    boolean settled = day.isBefore(today.minusDays(1))
+                            || (day.isBefore(today) && games.stream().allMatch(g -> TERMINAL_STATUSES.contains(g.status)));
+                    long expiresAt = settled
+                            ? Long.MAX_VALUE
+                            : System.currentTimeMillis() + todayTtlMs;
+                    dayCache.put(key, new CachedDay(games, expiresAt));
+                    return games;
+                })
+                .onErrorResume(ex -> {
+                    log.warn("Could not fetch games for {}: {}", day, ex.toString());
+                    return Mono.just(List.of(new DayError(day.toString(), ex.toString())));
+                });
+    }
+
+    private static final class CachedDay {
+        final List<GameRecord> games;
+        final long expiresAt;
+
+        CachedDay(List<GameRecord> games, long expiresAt) {
+            this.games = games;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /** Stands in for a day whose games couldn't be fetched. */
+    public static class DayError {
+        public final String date;
+        public final String error;
+
+        DayError(String date, String error) {
+            this.date  = date;
+            this.error = error;
+        }
+    }
+
+    /** One game from the API-Sports /games response, flattened. */
+    public static class GameRecord {
+        public final long id;
+        public final String date;
+        public final String status;
+        public final long homeId;
+        public final String homeName;
+        public final long awayId;
+        public final String awayName;
+        public final Integer homeScore;
+        public final Integer awayScore;
+
+        GameRecord(JsonNode g) {
+            JsonNode home = g.path("teams").path("home");
+            JsonNode away = g.path("teams").path("away");
+            JsonNode hs = g.path("scores").path("home").path("total");
+            JsonNode as = g.path("scores").path("away").path("total");
+            this.id        = g.path("id").asLong();
+            this.date      = g.path("date").asText();
+            this.status    = g.path("status").path("short").asText();
+            this.homeId    = home.path("id").asLong();
+            this.homeName  = home.path("name").asText();
+            this.awayId    = away.path("id").asLong();
+            this.awayName  = away.path("name").asText();
+            this.homeScore = hs.isNumber() ? hs.asInt() : null;
+            this.awayScore = as.isNumber() ? as.asInt() : null;
+        }
+    }
+}
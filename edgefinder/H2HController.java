@@ -3,24 +3,32 @@ package com.edgefinder;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
 public class H2HController {
     private final WebClient client;
+    private final HeadToHeadMatrix matrix;
+    private final ScheduleHistoryService history;
 
-    public H2HController(WebClient.Builder builder,
+    public H2HController(UpstreamTransport transport,
+                         HeadToHeadMatrix matrix,
+                         ScheduleHistoryService history,
                          @Value("${apisports.key}") String apiKey,
                          @Value("${apisports.host}") String host) {
-        this.client = builder
-                .baseUrl("https://" + host)
+        this.client = transport.client("https://" + host)
                 .defaultHeader("x-apisports-key", apiKey)
                 .build();
+        this.matrix = matrix;
+        this.history = history;
     }
 
     @GetMapping("/h2h")
@@ -39,4 +47,37 @@ public class H2HController {
                 .retrieve()
                 .bodyToMono(JsonNode.class);
     }
+
+    /**
+     * Season head-to-head record from the in-memory matrix (no upstream call).
+     * Teams are given either as MLB team ids or as full team names.
+     */
+    @GetMapping("/h2h/summary")
+    public Map<String, Object> getH2HSummary(
+            @RequestParam(required = false) Integer homeTeamId,
+            @RequestParam(required = false) Integer awayTeamId,
+            @RequestParam(required = false) String home,
+            @RequestParam(required = false) String away,
+            @RequestParam(required = false) Integer season
+    ) {
+        int s = season != null ? season : history.currentSeason();
+        HeadToHeadMatrix.Record rec;
+        if (homeTeamId != null && awayTeamId != null) {
+            rec = matrix.record(s, homeTeamId, awayTeamId);
+        } else if (home != null && away != null) {
+            rec = matrix.recordByName(s, home, away);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pass homeTeamId/awayTeamId or home/away");
+        }
+        if (rec == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No head-to-head data for those teams in " + s);
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("season", s);
+        out.put("games", rec.games());
+        out.put("homeWins", rec.wins);
+        out.put("awayWins", rec.losses);
+        out.put("homeRunDiff", rec.runDiff);
+        return out;
+    }
 }
@@ -0,0 +1,131 @@
+package com.edgefinder;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Team × team head-to-head results per season, built from the cached
+ * {@link ScheduleHistoryService} games instead of a per-pair upstream call.
+ *
+ * Each season is three dense int arrays (wins, losses, run differential)
+ * indexed by {@code team * n + opponent} from the row team's point of view.
+ * Built once when the history loads and bumped as games go Final, so a
+ * lookup is two array reads.
+ */
+@Component
+public class HeadToHeadMatrix implements ScheduleHistoryService.Listener {
+
+    private final ScheduleHistoryService history;
+    private final Map<Integer, Season> seasons = new ConcurrentHashMap<>();
+
+    public HeadToHeadMatrix(ScheduleHistoryService history) {
+        this.history = history;
+    }
+
+    @PostConstruct
+    void register() {
+        history.addListener(this);
+    }
+
+    @Override
+    public void onHistoryLoaded() {
+        for (int season : history.seasons()) {
+            ScheduleHistoryService.SeasonGames games = history.season(season);
+            Season m = new Season(history.teamCount());
+            synchronized (games) {
+                for (int i = 0; i < games.count(); i++) {
+                    m.add(games, i, history.teamCount());
+                }
+            }
+            seasons.put(season, m);
+        }
+    }
+
+    @Override
+    public void onFinal(int season, ScheduleHistoryService.SeasonGames games, int i) {
+        Season m = seasons.computeIfAbsent(season, s -> new Season(history.teamCount()));
+        synchronized (games) {
+            m.add(games, i, history.teamCount());
+        }
+    }
+
+    /** Home team's record against the away team for a season, by MLB team id; null if unknown. */
+    public Record record(int season, int homeTeamId, int awayTeamId) {
+        return lookup(season, history.indexOf(homeTeamId), history.indexOf(awayTeamId));
+    }
+
+    /** Same as {@link #record(int, int, int)} but by full team name. */
+    public Record recordByName(int season, String homeName, String awayName) {
+        return lookup(season, history.indexOfName(homeName), history.indexOfName(awayName));
+    }
+
+    private Record lookup(int season, int h, int a) {
+        Season m = seasons.get(season);
+        if (m == null || h < 0 || a < 0) return null;
+        return m.get(h, a);
+    }
+
+    /** Dense per-season matrix; grows (rarely) if a new team index shows up. */
+    private static final class Season {
+        int n;
+        int[] wins, losses, runDiff;
+
+        Season(int n) {
+            alloc(Math.max(n, 1));
+        }
+
+        synchronized void add(ScheduleHistoryService.SeasonGames g, int i, int teamCount) {
+            int h = g.home(i), a = g.away(i);
+            if (Math.max(h, a) >= n) grow(Math.max(teamCount, Math.max(h, a) + 1));
+            int diff = g.homeRuns(i) - g.awayRuns(i);
+            int ha = h * n + a, ah = a * n + h;
+            if (diff > 0) { wins[ha]++; losses[ah]++; }
+            else          { losses[ha]++; wins[ah]++; }
+            runDiff[ha] += diff;
+            runDiff[ah] -= diff;
+        }
+
+        synchronized Record get(int h, int a) {
+            if (h >= n || a >= n) return new Record(0, 0, 0);
+            int ha = h * n + a;
+            return new Record(wins[ha], losses[ha], runDiff[ha]);
+        }
+
+        private void alloc(int size) {
+            n = size;
+            wins = new int[size * size];
+            losses = new int[size * size];
+            runDiff = new int[size * size];
+        }
+
+        private void grow(int size) {
+            int old = n;
+            int[] w = wins, l = losses, r = runDiff;
+            alloc(size);
+            for (int x = 0; x < old; x++) {
+                System.arraycopy(w, x * old, wins, x * size, old);
+                System.arraycopy(l, x * old, losses, x * size, old);
+                System.arraycopy(r, x * old, runDiff, x * size, old);
+            }
+        }
+    }
+
+    public static class Record {
+        public final int wins;
+        public final int losses;
+        public final int runDiff;
+
+        public Record(int wins, int losses, int runDiff) {
+            this.wins    = wins;
+            this.losses  = losses;
+            this.runDiff = runDiff;
+        }
+
+        public int games() {
+            return wins + losses;
+        }
+    }
+}
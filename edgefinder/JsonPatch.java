@@ -0,0 +1,89 @@
+package com.edgefinder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ContainerNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * In-place RFC 6902 JSON Patch on a Jackson tree, as used by the statsapi
+ * GUMBO {@code diffPatch} endpoint (add / remove / replace / move / copy / test).
+ */
+final class JsonPatch {
+
+    private JsonPatch() { }
+
+    /** Applies every op in {@code ops} to {@code root}; throws on a bad path or failed test. */
+    static void apply(ObjectNode root, JsonNode ops) {
+        for (JsonNode op : ops) {
+            String kind = op.path("op").asText();
+            String path = op.path("path").asText();
+            switch (kind) {
+                case "add":     add(root, path, op.get("value").deepCopy()); break;
+                case "remove":  remove(root, path); break;
+                case "replace": remove(root, path); add(root, path, op.get("value").deepCopy()); break;
+                case "move": {
+                    JsonNode v = remove(root, op.path("from").asText());
+                    add(root, path, v);
+                    break;
+                }
+                case "copy":    add(root, path, resolve(root, op.path("from").asText()).deepCopy()); break;
+                case "test":
+                    if (!resolve(root, path).equals(op.get("value"))) {
+                        throw new IllegalStateException("JSON patch test failed at " + path);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown JSON patch op: " + kind);
+            }
+        }
+    }
+
+    private static void add(ObjectNode root, String path, JsonNode value) {
+        ContainerNode<?> parent = parent(root, path);
+        String last = lastToken(path);
+        if (parent instanceof ObjectNode o) {
+            o.set(last, value);
+        } else {
+            ArrayNode a = (ArrayNode) parent;
+            if ("-".equals(last)) a.add(value);
+            else a.insert(Integer.parseInt(last), value);
+        }
+    }
+
+    private static JsonNode remove(ObjectNode root, String path) {
+        ContainerNode<?> parent = parent(root, path);
+        String last = lastToken(path);
+        JsonNode removed = parent instanceof ObjectNode o
+            ? o.remove(last)
+            : ((ArrayNode) parent).remove(Integer.parseInt(last));
+        if (removed == null) {
+            throw new IllegalStateException("JSON patch path not found: " + path);
+        }
+        return removed;
+    }
+
+    private static JsonNode resolve(ObjectNode root, String path) {
+        JsonNode n = root.at(path);
+        if (n.isMissingNode()) {
+            throw new IllegalStateException("JSON patch path not found: " + path);
+        }
+        return n;
+    }
+
+    private static ContainerNode<?> parent(ObjectNode root, String path) {
+        int cut = path.lastIndexOf('/');
+        if (cut < 0) {
+            throw new IllegalArgumentException("Bad JSON pointer: " + path);
+        }
+        JsonNode p = cut == 0 ? root : root.at(path.substring(0, cut));
+        if (!(p instanceof ContainerNode<?> c)) {
+            throw new IllegalStateException("JSON patch parent not found: " + path);
+        }
+        return c;
+    }
+
+    private static String lastToken(String path) {
+        return path.substring(path.lastIndexOf('/') + 1).replace("~1", "/").replace("~0", "~");
+    }
+}
@@ -0,0 +1,27 @@
+package com.edgefinder;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+public class LineMovementController {
+    private final LineMovementDetector detector;
+
+    public LineMovementController(LineMovementDetector detector) {
+        this.detector = detector;
+    }
+
+    /**
+     * GET /api/line-moves?limit=50
+     * Most recent velocity / reversal / steam alerts, newest first.
+     */
+    @GetMapping("/line-moves")
+    public ResponseEntity<List<LineMovementDetector.LineMovementEvent>> getLineMoves(
+            @RequestParam(value = "limit", defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(detector.recent(limit));
+    }
+}
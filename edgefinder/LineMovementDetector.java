@@ -0,0 +1,375 @@
+package com.edgefinder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Watches prices move over time and publishes line-movement alerts.
+ *
+ * Every changed {@link OddsBook} market is diffed against its previous
+ * snapshot and each changed (book, outcome) price becomes a tick on a
+ * lock-free {@link TickRing}. One consumer thread drains the ring into
+ * per-series sliding windows (fixed primitive rings, so memory is bounded by
+ * the number of live series) and runs three detectors:
+ * <ul>
+ *   <li>VELOCITY – a sharp book moved at least {@code velocity-cents} within the window</li>
+ *   <li>REVERSAL – a sharp book moved one way and then back by at least {@code reversal-cents}</li>
+ *   <li>STEAM – {@code steam-books} or more books moved the same outcome the same way</li>
+ * </ul>
+ * Moves are measured in cents on the American line (−110 → −120 is 10 cents).
+ */
+@Component
+public class LineMovementDetector {
+    private static final Logger log = LoggerFactory.getLogger(LineMovementDetector.class);
+
+    /** Points kept per series; older points fall out even if still in the window. */
+    private static final int SERIES_POINTS = 32;
+    /** Book moves kept per outcome for steam detection. */
+    private static final int OUTCOME_MOVES = 32;
+    private static final int RECENT_EVENTS = 200;
+
+    private final OddsBook oddsBook;
+    private final TickRing<Tick> ring;
+    private final Set<String> sharpBooks = new HashSet<>();
+    private final long windowMs;
+    private final double velocityCents;
+    private final double reversalCents;
+    private final double steamCents;
+    private final int steamBooks;
+    private final long idleMs;
+
+    private final Map<String, OddsBook.Market> lastSeen = new ConcurrentHashMap<>();
+    private final List<Consumer<LineMovementEvent>> subscribers = new CopyOnWriteArrayList<>();
+    private final Deque<LineMovementEvent> recent = new ArrayDeque<>();
+
+    // consumer-thread state
+    private final Map<String, Series> series = new HashMap<>();
+    private final Map<String, OutcomeMoves> outcomes = new HashMap<>();
+    private long lastSweep;
+    private volatile boolean running;
+    private Thread consumer;
+
+    public LineMovementDetector(OddsBook oddsBook,
+                                @Value("${odds.moves.ring-size:65536}") int ringSize,
+                                @Value("${odds.moves.sharp-books:Pinnacle}") String sharpBooks,
+                                @Value("${odds.moves.window-ms:60000}") long windowMs,
+                                @Value("${odds.moves.velocity-cents:10}") double velocityCents,
+                                @Value("${odds.moves.reversal-cents:8}") double reversalCents,
+                                @Value("${odds.moves.steam-cents:5}") double steamCents,
+                                @Value("${odds.moves.steam-books:3}") int steamBooks,
+                                @Value("${odds.moves.idle-ms:1800000}") long idleMs) {
+        this.oddsBook = oddsBook;
+        this.ring = new TickRing<>(ringSize);
+        for (String b : sharpBooks.split(",")) {
+            if (!b.isBlank()) this.sharpBooks.add(b.trim().toLowerCase());
+        }
+        this.windowMs = windowMs;
+        this.velocityCents = velocityCents;
+        this.reversalCents = reversalCents;
+        this.steamCents = steamCents;
+        this.steamBooks = steamBooks;
+        this.idleMs = idleMs;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        consumer = new Thread(this::drain, "line-movement");
+        consumer.setDaemon(true);
+        consumer.start();
+        oddsBook.addListener(this::onMarket);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        LockSupport.unpark(consumer);
+    }
+
+    /** Registers a callback invoked on the detector thread for every alert. */
+    public void subscribe(Consumer<LineMovementEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /** Most recent alerts, newest first. */
+    public List<LineMovementEvent> recent(int limit) {
+        List<LineMovementEvent> out = new ArrayList<>();
+        synchronized (recent) {
+            Iterator<LineMovementEvent> it = recent.descendingIterator();
+            while (it.hasNext() && out.size() < limit) out.add(it.next());
+        }
+        return out;
+    }
+
+    public long droppedTicks() {
+        return ring.dropped();
+    }
+
+    // ---------- Producer side: snapshot diff → ticks ----------
+
+    void onMarket(OddsBook.Market m) {
+        long now = System.currentTimeMillis();
+        String key = m.gameId + '|' + m.market;
+        if (m.outcomes.isEmpty()) {
+            lastSeen.remove(key);
+            return;
+        }
+        OddsBook.Market[] baseline = new OddsBook.Market[1];
+        boolean[] stale = new boolean[1];
+        lastSeen.compute(key, (k, old) -> {
+            if (old != null && old.version >= m.version) {
+                stale[0] = true; // late notification; keep the newer baseline
+                return old;
+            }
+            baseline[0] = old;
+            return m;
+        });
+        if (stale[0]) return;
+        OddsBook.Market prev = baseline[0];
+        for (OddsBook.Outcome o : m.outcomes.values()) {
+            OddsBook.Outcome before = prev != null ? prev.outcome(o.name) : null;
+            if (before == o) continue;
+            for (Map.Entry<String, Double> p : o.prices.entrySet()) {
+                double old = before != null ? before.price(p.getKey()) : Double.NaN;
+                if (old != p.getValue()) {
+                    ring.offer(new Tick(m.gameId, m.market, o.name, p.getKey(), p.getValue(), now));
+                }
+            }
+        }
+    }
+
+    // ---------- Consumer side ----------
+
+    private void drain() {
+        while (running) {
+            Tick t = ring.poll();
+            if (t == null) {
+                sweepIdle(System.currentTimeMillis());
+                LockSupport.parkNanos(1_000_000);
+                continue;
+            }
+            try {
+                onTick(t);
+            } catch (Exception ex) {
+                log.warn("Line movement detector failed on {}", t.seriesKey(), ex);
+            }
+        }
+    }
+
+    private void onTick(Tick t) {
+        double cents = toCents(t.price);
+        Series s = series.computeIfAbsent(t.seriesKey(), k -> new Series());
+        s.add(t.at, cents, t.price);
+
+        boolean sharp = sharpBooks.contains(t.book.toLowerCase());
+        // ticks only arrive on change, so the baseline is the price in effect
+        // when the window opened, which may have been set well before it
+        int first = s.inEffectAt(t.at - windowMs);
+        long overMs = Math.min(t.at - s.time(first), windowMs);
+
+        // velocity: net move across the window
+        double net = cents - s.cents(first);
+        if (sharp && Math.abs(net) >= velocityCents && s.cooledDown(LineMovementEvent.VELOCITY, t.at, windowMs)) {
+            publish(new LineMovementEvent(LineMovementEvent.VELOCITY, t, List.of(t.book),
+                s.price(first), t.price, net, overMs));
+        }
+
+        // reversal: farthest point from the start, then back again
+        if (sharp) {
+            int ext = first;
+            for (int i = first; i != s.newest(); i = s.next(i)) {
+                if (Math.abs(s.cents(i) - s.cents(first)) > Math.abs(s.cents(ext) - s.cents(first))) ext = i;
+            }
+            double out = s.cents(ext) - s.cents(first);
+            double back = cents - s.cents(ext);
+            if (Math.abs(out) >= reversalCents && Math.abs(back) >= reversalCents
+                    && Math.signum(out) != Math.signum(back)
+                    && s.cooledDown(LineMovementEvent.REVERSAL, t.at, windowMs)) {
+                publish(new LineMovementEvent(LineMovementEvent.REVERSAL, t, List.of(t.book),
+                    s.price(first), t.price, back, overMs));
+            }
+        }
+
+        // steam: several books moving the same outcome the same way
+        if (Math.abs(net) >= steamCents) {
+            OutcomeMoves om = outcomes.computeIfAbsent(t.outcomeKey(), k -> new OutcomeMoves());
+            om.add(t.book, t.at, (int) Math.signum(net));
+            List<String> books = om.booksMoving((int) Math.signum(net), t.at - windowMs);
+            if (books.size() >= steamBooks && t.at - om.lastAlert >= windowMs) {
+                om.lastAlert = t.at;
+                publish(new LineMovementEvent(LineMovementEvent.STEAM, t, books,
+                    s.price(first), t.price, net, windowMs));
+            }
+        }
+    }
+
+    private void publish(LineMovementEvent e) {
+        synchronized (recent) {
+            recent.addLast(e);
+            if (recent.size() > RECENT_EVENTS) recent.removeFirst();
+        }
+        for (Consumer<LineMovementEvent> sub : subscribers) {
+            try {
+                sub.accept(e);
+            } catch (Exception ex) {
+                log.warn("Line movement subscriber failed", ex);
+            }
+        }
+    }
+
+    /** Drops series and outcome state that hasn't ticked for {@code idleMs}. */
+    private void sweepIdle(long now) {
+        if (now - lastSweep < 60_000) return;
+        lastSweep = now;
+        series.values().removeIf(s -> now - s.time(s.newest()) > idleMs);
+        outcomes.values().removeIf(o -> now - o.lastMove > idleMs);
+    }
+
+    /** Decimal odds → cents on the American line, continuous across even money. */
+    static double toCents(double decimal) {
+        double american = decimal >= 2.0 ? (decimal - 1) * 100 : -100 / (decimal - 1);
+        return american >= 0 ? american - 100 : american + 100;
+    }
+
+    // ---------- Per-series state ----------
+
+    private static final class Tick {
+        final String gameId, market, outcome, book;
+        final double price;
+        final long at;
+
+        Tick(String gameId, String market, String outcome, String book, double price, long at) {
+            this.gameId  = gameId;
+            this.market  = market;
+            this.outcome = outcome;
+            this.book    = book;
+            this.price   = price;
+            this.at      = at;
+        }
+
+        String outcomeKey() {
+            return gameId + '|' + market + '|' + outcome;
+        }
+
+        String seriesKey() {
+            return outcomeKey() + '|' + book;
+        }
+    }
+
+    /** Last {@link #SERIES_POINTS} price points for one book on one outcome. */
+    private static final class Series {
+        final long[] times = new long[SERIES_POINTS];
+        final double[] cents = new double[SERIES_POINTS];
+        final double[] prices = new double[SERIES_POINTS];
+        int count;
+        long lastVelocity = Long.MIN_VALUE / 2, lastReversal = Long.MIN_VALUE / 2;
+
+        void add(long at, double c, double price) {
+            int i = count % SERIES_POINTS;
+            times[i] = at;
+            cents[i] = c;
+            prices[i] = price;
+            count++;
+        }
+
+        int newest() { return (count - 1) % SERIES_POINTS; }
+        int oldest() { return count <= SERIES_POINTS ? 0 : count % SERIES_POINTS; }
+        int next(int i) { return (i + 1) % SERIES_POINTS; }
+        long time(int i) { return times[i]; }
+        double cents(int i) { return cents[i]; }
+        double price(int i) { return prices[i]; }
+
+        /**
+         * The point whose price was current at {@code since}: the newest one at
+         * or before it, or the oldest retained point if none is that old.
+         */
+        int inEffectAt(long since) {
+            int i = oldest();
+            while (i != newest() && times[next(i)] <= since) i = next(i);
+            return i;
+        }
+
+        boolean cooledDown(String kind, long now, long windowMs) {
+            if (LineMovementEvent.VELOCITY.equals(kind)) {
+                if (now - lastVelocity < windowMs) return false;
+                lastVelocity = now;
+            } else {
+                if (now - lastReversal < windowMs) return false;
+                lastReversal = now;
+            }
+            return true;
+        }
+    }
+
+    /** Recent per-book move directions on one outcome. */
+    private static final class OutcomeMoves {
+        final String[] books = new String[OUTCOME_MOVES];
+        final long[] times = new long[OUTCOME_MOVES];
+        final int[] dirs = new int[OUTCOME_MOVES];
+        int count;
+        long lastMove;
+        long lastAlert = Long.MIN_VALUE / 2;
+
+        void add(String book, long at, int dir) {
+            int i = count % OUTCOME_MOVES;
+            books[i] = book;
+            times[i] = at;
+            dirs[i] = dir;
+            count++;
+            lastMove = at;
+        }
+
+        List<String> booksMoving(int dir, long since) {
+            List<String> out = new ArrayList<>();
+            for (int n = 0; n < Math.min(count, OUTCOME_MOVES); n++) {
+                if (times[n] >= since && dirs[n] == dir && !out.contains(books[n])) {
+                    out.add(books[n]);
+                }
+            }
+            return out;
+        }
+    }
+
+    // ---------- Published alert ----------
+
+    public static class LineMovementEvent {
+        public static final String VELOCITY = "VELOCITY";
+        public static final String REVERSAL = "REVERSAL";
+        public static final String STEAM = "STEAM";
+
+        public final String kind;
+        public final String gameId;
+        public final String market;
+        public final String outcome;
+        public final List<String> books;
+        public final double fromOdds;
+        public final double toOdds;
+        public final double cents;
+        public final long overMs;
+        public final long detectedAt;
+
+        LineMovementEvent(String kind, Tick t, List<String> books,
+                          double fromOdds, double toOdds, double cents, long overMs) {
+            this.kind       = kind;
+            this.gameId     = t.gameId;
+            this.market     = t.market;
+            this.outcome    = t.outcome;
+            this.books      = books;
+            this.fromOdds   = fromOdds;
+            this.toOdds     = toOdds;
+            this.cents      = cents;
+            this.overMs     = overMs;
+            this.detectedAt = t.at;
+        }
+    }
+}
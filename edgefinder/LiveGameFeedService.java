@@ -0,0 +1,214 @@
+package com.edgefinder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Follows in-progress games through the statsapi GUMBO live feed.
+ *
+ * The full {@code feed/live} document is downloaded once per game; after that
+ * each poll asks {@code feed/live/diffPatch?startTimecode=} for only what
+ * changed and applies the JSON patches to the in-memory copy. Win probability
+ * (contextMetrics) is re-fetched only when the game situation actually
+ * changes — new batter, count, outs, runners or score — and only then is an
+ * update pushed to the game's subscribers.
+ *
+ * Games are polled while they have at least one subscriber and dropped once
+ * they go Final. The scheduled tick only hands each game to a dedicated
+ * {@code live.refresh-threads} pool, skipping a game whose previous refresh
+ * is still running, so one slow feed can't hold up other games or the
+ * other scheduled pollers.
+ */
+@Service
+public class LiveGameFeedService {
+    private static final Logger log = LoggerFactory.getLogger(LiveGameFeedService.class);
+
+    private final WebClient gumbo;
+    private final WebClient mlb;
+    private final Map<String, LiveGame> games = new ConcurrentHashMap<>();
+    private final ExecutorService refreshPool;
+
+    public LiveGameFeedService(UpstreamTransport transport,
+                               @Value("${live.refresh-threads:8}") int refreshThreads) {
+        this.gumbo = transport.client("https://statsapi.mlb.com/api/v1.1").build();
+        this.mlb = transport.client("https://statsapi.mlb.com/api/v1").build();
+        AtomicInteger n = new AtomicInteger();
+        this.refreshPool = Executors.newFixedThreadPool(refreshThreads, r -> {
+            Thread t = new Thread(r, "live-feed-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshPool.shutdownNow();
+    }
+
+    /**
+     * Starts following a game and sends every later update to {@code subscriber}
+     * (plus the current state right away, if we already have one).
+     * Run the returned handle to unsubscribe.
+     */
+    public Runnable subscribe(String gamePk, Consumer<LiveUpdate> subscriber) {
+        LiveGame g = games.computeIfAbsent(gamePk, LiveGame::new);
+        g.subscribers.add(subscriber);
+        LiveUpdate last = g.lastUpdate;
+        if (last != null) subscriber.accept(last);
+        return () -> {
+            g.subscribers.remove(subscriber);
+            if (g.subscribers.isEmpty()) games.remove(gamePk, g);
+        };
+    }
+
+    /** Latest pushed state for a followed game, or null. */
+    public LiveUpdate current(String gamePk) {
+        LiveGame g = games.get(gamePk);
+        return g != null ? g.lastUpdate : null;
+    }
+
+    @Scheduled(fixedDelayString = "${live.poll-ms:5000}")
+    public void poll() {
+        for (LiveGame g : games.values()) {
+            if (!g.refreshing.compareAndSet(false, true)) continue; // still busy from last tick
+            refreshPool.execute(() -> {
+                try {
+                    synchronized (g) {
+                        refresh(g);
+                    }
+                } catch (Exception ex) {
+                    log.warn("Live feed refresh failed for game {}", g.gamePk, ex);
+                    g.feed = null; // resync from a full download next time
+                } finally {
+                    g.refreshing.set(false);
+                }
+            });
+        }
+    }
+
+    // ---------- Feed sync ----------
+
+    private void refresh(LiveGame g) {
+        if (g.feed == null) {
+            g.feed = (ObjectNode) gumbo.get()
+                .uri("/game/{pk}/feed/live", g.gamePk)
+                .retrieve().bodyToMono(JsonNode.class).block();
+        } else {
+            JsonNode patch = gumbo.get()
+                .uri(uri -> uri.path("/game/{pk}/feed/live/diffPatch")
+                    .queryParam("startTimecode", g.timecode)
+                    .build(g.gamePk))
+                .retrieve().bodyToMono(JsonNode.class).block();
+            if (patch == null) return;
+            if (patch.isObject()) {
+                g.feed = (ObjectNode) patch; // too far behind: server sent the whole feed
+            } else {
+                for (JsonNode set : patch) {
+                    JsonPatch.apply(g.feed, set.path("diff"));
+                }
+            }
+        }
+        g.timecode = g.feed.path("metaData").path("timeStamp").asText(g.timecode);
+
+        String key = situationKey(g.feed);
+        if (key.equals(g.situation)) return;
+        g.situation = key;
+
+        JsonNode ctx = mlb.get()
+            .uri("/game/{pk}/contextMetrics", g.gamePk)
+            .retrieve().bodyToMono(JsonNode.class).block();
+        LiveUpdate u = new LiveUpdate(g.gamePk, g.timecode, g.feed, ctx);
+        g.lastUpdate = u;
+        for (Consumer<LiveUpdate> s : g.subscribers) {
+            s.accept(u);
+        }
+        if ("Final".equals(u.status)) {
+            games.remove(g.gamePk, g);
+        }
+    }
+
+    /** Everything that changes win probability; equal keys mean nothing to recompute. */
+    private static String situationKey(JsonNode feed) {
+        JsonNode live = feed.path("liveData");
+        JsonNode ls = live.path("linescore");
+        JsonNode play = live.path("plays").path("currentPlay");
+        JsonNode offense = ls.path("offense");
+        return feed.path("gameData").path("status").path("abstractGameState").asText()
+            + '|' + play.path("about").path("atBatIndex").asInt(-1)
+            + '|' + ls.path("currentInning").asInt() + ls.path("inningHalf").asText()
+            + '|' + ls.path("outs").asInt()
+            + '|' + play.path("count").path("balls").asInt() + '-' + play.path("count").path("strikes").asInt()
+            + '|' + ls.path("teams").path("away").path("runs").asInt()
+            + '-' + ls.path("teams").path("home").path("runs").asInt()
+            + '|' + offense.has("first") + offense.has("second") + offense.has("third");
+    }
+
+    private static final class LiveGame {
+        final String gamePk;
+        final List<Consumer<LiveUpdate>> subscribers = new CopyOnWriteArrayList<>();
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        ObjectNode feed;
+        String timecode;
+        String situation;
+        volatile LiveUpdate lastUpdate;
+
+        LiveGame(String gamePk) {
+            this.gamePk = gamePk;
+        }
+    }
+
+    /** What clients get pushed: the situation, the linescore and live win probability. */
+    public static class LiveUpdate {
+        public final String gamePk;
+        public final String timecode;
+        public final String status;
+        public final String detailedState;
+        public final int inning;
+        public final String inningHalf;
+        public final int outs;
+        public final int balls;
+        public final int strikes;
+        public final int awayRuns;
+        public final int homeRuns;
+        public final double homeWinProbability;
+        public final double awayWinProbability;
+        public final JsonNode linescore;
+
+        LiveUpdate(String gamePk, String timecode, JsonNode feed, JsonNode ctx) {
+            JsonNode status = feed.path("gameData").path("status");
+            JsonNode ls = feed.path("liveData").path("linescore");
+            JsonNode count = feed.path("liveData").path("plays").path("currentPlay").path("count");
+            this.gamePk             = gamePk;
+            this.timecode           = timecode;
+            this.status             = status.path("abstractGameState").asText();
+            this.detailedState      = status.path("detailedState").asText();
+            this.inning             = ls.path("currentInning").asInt();
+            this.inningHalf         = ls.path("inningHalf").asText();
+            this.outs               = ls.path("outs").asInt();
+            this.balls              = count.path("balls").asInt();
+            this.strikes            = count.path("strikes").asInt();
+            this.awayRuns           = ls.path("teams").path("away").path("runs").asInt();
+            this.homeRuns           = ls.path("teams").path("home").path("runs").asInt();
+            this.homeWinProbability = ctx == null ? Double.NaN : ctx.path("homeWinProbability").asDouble();
+            this.awayWinProbability = ctx == null ? Double.NaN : ctx.path("awayWinProbability").asDouble();
+            this.linescore          = ls.deepCopy();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.edgefinder;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+public class LiveGameWebSocketConfig implements WebSocketConfigurer {
+    private final LiveGameWebSocketHandler handler;
+
+    public LiveGameWebSocketConfig(LiveGameWebSocketHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(handler, "/ws/live").setAllowedOrigins("*");
+    }
+}
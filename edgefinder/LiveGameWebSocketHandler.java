@@ -0,0 +1,56 @@
+package com.edgefinder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * ws://host/ws/live?gamePk=123 — pushes a {@link LiveGameFeedService.LiveUpdate}
+ * as JSON every time the game situation changes.
+ */
+@Component
+public class LiveGameWebSocketHandler extends TextWebSocketHandler {
+    private static final Logger log = LoggerFactory.getLogger(LiveGameWebSocketHandler.class);
+    private static final String UNSUBSCRIBE = "unsubscribe";
+
+    private final LiveGameFeedService feed;
+    private final ObjectMapper mapper;
+
+    public LiveGameWebSocketHandler(LiveGameFeedService feed, ObjectMapper mapper) {
+        this.feed = feed;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String gamePk = UriComponentsBuilder.fromUri(session.getUri())
+            .build().getQueryParams().getFirst("gamePk");
+        if (gamePk == null || gamePk.isBlank()) {
+            session.close(CloseStatus.BAD_DATA.withReason("gamePk is required"));
+            return;
+        }
+        // updates arrive on the poller thread; the decorator serializes sends
+        WebSocketSession out = new ConcurrentWebSocketSessionDecorator(session, 5_000, 256 * 1024);
+        Runnable unsubscribe = feed.subscribe(gamePk, update -> {
+            try {
+                out.sendMessage(new TextMessage(mapper.writeValueAsString(update)));
+            } catch (Exception ex) {
+                log.debug("Dropping live update for closed session {}", session.getId(), ex);
+            }
+        });
+        session.getAttributes().put(UNSUBSCRIBE, unsubscribe);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object unsubscribe = session.getAttributes().remove(UNSUBSCRIBE);
+        if (unsubscribe instanceof Runnable r) r.run();
+    }
+}
@@ -7,16 +7,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.Map;
+import java.util.OptionalDouble;
 
 @Service
 public class MultiFactorWinProbabilityService {
     private static final Logger log = LoggerFactory.getLogger(MultiFactorWinProbabilityService.class);
     private final WebClient mlb;
+    private final EloRatingEngine elo;
 
-    public MultiFactorWinProbabilityService(WebClient.Builder builder) {
-        this.mlb = builder
-          .baseUrl("https://statsapi.mlb.com/api/v1")
+    public MultiFactorWinProbabilityService(UpstreamTransport transport, EloRatingEngine elo) {
+        this.mlb = transport.client("https://statsapi.mlb.com/api/v1")
           .build();
+        this.elo = elo;
     }
 
     /**  
@@ -61,6 +63,15 @@ public class MultiFactorWinProbabilityService {
      * Core blending logic given a gamePk.
      */
     public WinProb compute(String gamePk) {
+        ProfilingEvents.ModelCompute ev = new ProfilingEvents.ModelCompute("multi-factor", gamePk, 0);
+        try {
+            return blend(gamePk);
+        } finally {
+            ev.commit();
+        }
+    }
+
+    private WinProb blend(String gamePk) {
         // 1) Live contextMetrics
         JsonNode ctx = mlb.get()
           .uri("/game/{pk}/contextMetrics", gamePk)
@@ -68,26 +79,15 @@ public class MultiFactorWinProbabilityService {
         double liveHome = ctx.path("homeWinProbability").asDouble() / 100.0;
         // (we don’t need liveAway here)
 
-        // 2) Season PCT via standings + boxscore
-        JsonNode std = mlb.get()
-          .uri("/standings?leagueId=1&season=2025")
-          .retrieve().bodyToMono(JsonNode.class).block();
+        // 2) Season strength: Elo home win expectancy, else standings PCT
         JsonNode box = mlb.get()
           .uri("/game/{pk}/boxscore", gamePk)
           .retrieve().bodyToMono(JsonNode.class).block();
         int homeId = box.path("teams").path("home").path("team").path("id").asInt();
+        int awayId = box.path("teams").path("away").path("team").path("id").asInt();
 
-        double seasonHome = 0.5;
-        for (JsonNode rec : std.path("records")) {
-            for (JsonNode tr : rec.path("teamRecords")) {
-                if (tr.path("team").path("id").asInt() == homeId) {
-                    double w = tr.path("wins").asDouble();
-                    double l = tr.path("losses").asDouble();
-                    seasonHome = w / (w + l);
-                    break;
-                }
-            }
-        }
+        OptionalDouble eloHome = elo.homeWinProbability(homeId, awayId);
+        double seasonHome = eloHome.isPresent() ? eloHome.getAsDouble() : standingsPct(homeId);
 
         // 3) Pace adj → fallback to 0.5 if unsupported
         double paceAdj;
@@ -116,6 +116,23 @@ public class MultiFactorWinProbabilityService {
         return new WinProb(homeProb, awayProb, liveHome, seasonHome, paceAdj);
     }
 
+    /** Raw W/(W+L) from standings; used until Elo ratings are available. */
+    private double standingsPct(int homeId) {
+        JsonNode std = mlb.get()
+          .uri("/standings?leagueId=1&season=2025")
+          .retrieve().bodyToMono(JsonNode.class).block();
+        for (JsonNode rec : std.path("records")) {
+            for (JsonNode tr : rec.path("teamRecords")) {
+                if (tr.path("team").path("id").asInt() == homeId) {
+                    double w = tr.path("wins").asDouble();
+                    double l = tr.path("losses").asDouble();
+                    return w / (w + l);
+                }
+            }
+        }
+        return 0.5;
+    }
+
     public static class WinProb {
         public final double homeProb, awayProb;
         public final double liveHomePct, seasonHomePct, paceAdj;
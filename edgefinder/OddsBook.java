@@ -0,0 +1,379 @@
+package com.edgefinder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Normalized in-memory view of every odds snapshot we've pulled, from any
+ * provider, keyed by game → market → outcome → bookmaker (decimal price).
+ *
+ * Providers use their own game ids (apisports numeric ids, Sportradar
+ * {@code sr:sport_event:*}), so callers {@link #link} each id to a canonical
+ * key built from the local start date and both team names before ingesting.
+ * Linked ids land in the same market, which is what lets Sportradar's Pinnacle
+ * price be the sharp reference for apisports books. An id that was never
+ * linked keeps its own markets. Both games of a doubleheader share a key.
+ *
+ * Each market is an immutable {@link Market} that is swapped whole on update,
+ * so readers just {@code get()} a snapshot and never lock; writers for the
+ * same market are serialized by {@link ConcurrentHashMap#compute}. Every
+ * outcome carries its current best price and the sharp book's price, kept up
+ * to date as books are replaced rather than re-scanned by each consumer.
+ *
+ * Listeners get each new snapshot after it's published. Two writers on the
+ * same market may notify out of order, so listeners compare {@link Market#version}.
+ *
+ * A market no provider has refreshed for {@code odds.max-age-ms} is dropped
+ * (as in {@link #evict}), so games that started or were only looked up once
+ * don't linger whether or not the slate poller runs.
+ */
+@Component
+public class OddsBook {
+    /** Market/outcome names shared by every provider for the 2-way moneyline. */
+    public static final String MONEYLINE = "Home/Away";
+    public static final String HOME = "Home";
+    public static final String AWAY = "Away";
+
+    private final String sharpBook;
+    private final long maxAgeMs;
+    private final ZoneId canonicalZone;
+    /** Provider game id → canonical game key. */
+    private final Map<String, Alias> aliases = new ConcurrentHashMap<>();
+    private final Map<String, Market> markets = new ConcurrentHashMap<>();
+    /** Last time any book was ingested for a market key, changed or not. */
+    private final Map<String, Long> refreshedAt = new ConcurrentHashMap<>();
+    private final List<Consumer<Market>> listeners = new CopyOnWriteArrayList<>();
+
+    public OddsBook(@Value("${odds.sharp-book:Pinnacle}") String sharpBook,
+                    @Value("${odds.max-age-ms:1800000}") long maxAgeMs,
+                    @Value("${odds.canonical-zone:America/New_York}") String canonicalZone) {
+        this.sharpBook = sharpBook;
+        this.maxAgeMs = maxAgeMs;
+        this.canonicalZone = ZoneId.of(canonicalZone);
+    }
+
+    public String sharpBook() {
+        return sharpBook;
+    }
+
+    /** Registers a callback for every changed market snapshot. */
+    public void addListener(Consumer<Market> listener) {
+        listeners.add(listener);
+    }
+
+    /** Current snapshot of one market, or null if we've never seen it. */
+    public Market market(String gameId, String market) {
+        return markets.get(key(resolve(gameId), market));
+    }
+
+    // ---------- Canonical game keys ----------
+
+    /**
+     * Canonical key for a game, e.g. {@code 2025-06-01:boston-red-sox@new-york-yankees}.
+     * {@code startTime} is an ISO-8601 timestamp with offset, taken to a date in
+     * {@code odds.canonical-zone} so providers reporting UTC and local times agree.
+     * Null when the start time or a team name is missing.
+     */
+    public String canonicalKey(String startTime, String homeName, String awayName) {
+        if (startTime == null || homeName == null || awayName == null
+                || homeName.isBlank() || awayName.isBlank()) {
+            return null;
+        }
+        LocalDate date;
+        try {
+            date = OffsetDateTime.parse(startTime).atZoneSameInstant(canonicalZone).toLocalDate();
+        } catch (DateTimeException ex) {
+            return null;
+        }
+        return date + ":" + slug(awayName) + "@" + slug(homeName);
+    }
+
+    /**
+     * Points a provider's game id at the canonical key for that game, so its
+     * later ingests share markets with every other provider linked to the same
+     * game. Returns the key, or null (and links nothing) if it can't be built.
+     */
+    public String link(String providerGameId, String startTime, String homeName, String awayName) {
+        String key = canonicalKey(startTime, homeName, awayName);
+        if (providerGameId != null && key != null) {
+            aliases.put(providerGameId, new Alias(key, System.currentTimeMillis()));
+        }
+        return key;
+    }
+
+    /** True once {@code providerGameId} has been {@link #link linked}. */
+    public boolean isLinked(String providerGameId) {
+        return aliases.containsKey(providerGameId);
+    }
+
+    private String resolve(String gameId) {
+        Alias a = gameId != null ? aliases.get(gameId) : null;
+        return a != null ? a.key : gameId;
+    }
+
+    private static String slug(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+    }
+
+    /** Snapshots of every market currently held. */
+    public Collection<Market> markets() {
+        return Collections.unmodifiableCollection(markets.values());
+    }
+
+    /**
+     * EV in percentage points of taking {@code price} when the sharp
+     * reference is {@code sharpPrice}: sharp implied minus book implied.
+     */
+    public static double evPercent(double sharpPrice, double price) {
+        return (1.0 / sharpPrice - 1.0 / price) * 100;
+    }
+
+    // ---------- Provider normalizers ----------
+
+    /**
+     * apisports {@code /odds} payload:
+     * response[].bookmakers[].bets[].values[] = { value: "Home", odd: "1.91" }.
+     * The game id comes from each response entry, falling back to {@code gameId}.
+     */
+    public void ingestApiSports(String gameId, JsonNode oddsRoot) {
+        if (oddsRoot == null) return;
+        for (JsonNode entry : oddsRoot.path("response")) {
+            String gid = entry.path("game").path("id").asText(gameId);
+            for (JsonNode book : entry.path("bookmakers")) {
+                String name = book.path("name").asText();
+                for (JsonNode bet : book.path("bets")) {
+                    Map<String, Double> prices = new LinkedHashMap<>();
+                    for (JsonNode v : bet.path("values")) {
+                        prices.put(v.path("value").asText(), safeParse(v.path("odd").asText()));
+                    }
+                    update(gid, bet.path("name").asText(MONEYLINE), name, prices);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sportradar oddscomparison {@code bookmakers.json} payload:
+     * data.bookmakers[].bets[0].values[] = { decimal: 1.91 }, home first.
+     * The first bet is the moneyline and is read by position, whatever the
+     * bet and value names say; other bets are not normalized.
+     */
+    public void ingestSportradar(String eventId, JsonNode root) {
+        if (root == null) return;
+        for (JsonNode book : root.path("data").path("bookmakers")) {
+            JsonNode values = book.path("bets").path(0).path("values");
+            if (values.size() < 2) continue;
+            Map<String, Double> prices = new LinkedHashMap<>();
+            prices.put(HOME, values.get(0).path("decimal").asDouble());
+            prices.put(AWAY, values.get(1).path("decimal").asDouble());
+            update(eventId, MONEYLINE, book.path("name").asText(), prices);
+        }
+    }
+
+    /**
+     * Replaces one bookmaker's prices (outcome → decimal odds) in a market.
+     * Outcomes the book no longer quotes are dropped for that book.
+     */
+    public Market update(String providerGameId, String market, String book, Map<String, Double> prices) {
+        String gameId = resolve(providerGameId);
+        Market[] before = new Market[1];
+        Market after = markets.compute(key(gameId, market), (k, old) -> {
+            refreshedAt.put(k, System.currentTimeMillis());
+            before[0] = old;
+            return (old != null ? old : new Market(gameId, market, 0, List.of(), Map.of()))
+                .withBook(book, prices, sharpBook);
+        });
+        if (after != before[0]) {
+            notifyListeners(after);
+        }
+        return after;
+    }
+
+    /**
+     * Drops every market for a game (e.g. it started or left the slate),
+     * including prices other providers linked to it.
+     * Listeners see an empty snapshot with a bumped version.
+     */
+    public void evict(String providerGameId) {
+        String gameId = resolve(providerGameId);
+        aliases.remove(providerGameId);
+        for (Market m : markets.values()) {
+            if (m.gameId.equals(gameId)) remove(m);
+        }
+    }
+
+    /** Drops markets that haven't been refreshed within {@code odds.max-age-ms}. */
+    @Scheduled(fixedDelayString = "${odds.sweep-ms:60000}")
+    public void expireStale() {
+        long cutoff = System.currentTimeMillis() - maxAgeMs;
+        for (Market m : markets.values()) {
+            Long at = refreshedAt.get(key(m.gameId, m.market));
+            if (at != null && at < cutoff) remove(m);
+        }
+        refreshedAt.entrySet().removeIf(e -> e.getValue() < cutoff && !markets.containsKey(e.getKey()));
+        Set<String> live = new HashSet<>();
+        for (Market m : markets.values()) live.add(m.gameId);
+        aliases.values().removeIf(a -> a.linkedAt < cutoff && !live.contains(a.key));
+    }
+
+    private void remove(Market m) {
+        String k = key(m.gameId, m.market);
+        if (markets.remove(k, m)) {
+            notifyListeners(new Market(m.gameId, m.market, m.version + 1, List.of(), Map.of()));
+        }
+    }
+
+    private void notifyListeners(Market snapshot) {
+        for (Consumer<Market> l : listeners) {
+            l.accept(snapshot);
+        }
+    }
+
+    private static String key(String gameId, String market) {
+        return gameId + '|' + market;
+    }
+
+    private static double safeParse(String s) {
+        try { return Double.parseDouble(s); }
+        catch (Exception e) { return 0.0; }
+    }
+
+    private static final class Alias {
+        final String key;
+        final long linkedAt;
+
+        Alias(String key, long linkedAt) {
+            this.key      = key;
+            this.linkedAt = linkedAt;
+        }
+    }
+
+    // ---------- Immutable snapshots ----------
+
+    public static final class Market {
+        /** Canonical game key when the provider's id was linked, else that id. */
+        public final String gameId;
+        public final String market;
+        /** Bumped on every change to this market. */
+        public final long version;
+        /** Bookmakers in first-seen order. */
+        public final List<String> books;
+        /** Outcomes in first-seen order. */
+        public final Map<String, Outcome> outcomes;
+
+        Market(String gameId, String market, long version,
+               List<String> books, Map<String, Outcome> outcomes) {
+            this.gameId   = gameId;
+            this.market   = market;
+            this.version  = version;
+            this.books    = books;
+            this.outcomes = outcomes;
+        }
+
+        public Outcome outcome(String name) {
+            return outcomes.get(name);
+        }
+
+        Market withBook(String book, Map<String, Double> prices, String sharpBook) {
+            List<String> nextBooks = books;
+            if (!books.contains(book)) {
+                nextBooks = new ArrayList<>(books);
+                nextBooks.add(book);
+                nextBooks = Collections.unmodifiableList(nextBooks);
+            }
+            boolean changed = nextBooks != books;
+            Map<String, Outcome> next = new LinkedHashMap<>();
+            for (Outcome o : outcomes.values()) {
+                Outcome n = o.withPrice(book, prices.get(o.name), sharpBook);
+                changed |= n != o;
+                next.put(o.name, n);
+            }
+            for (Map.Entry<String, Double> e : prices.entrySet()) {
+                if (!next.containsKey(e.getKey())) {
+                    Outcome empty = new Outcome(e.getKey(), Map.of(), null, 0.0, Double.NaN);
+                    Outcome n = empty.withPrice(book, e.getValue(), sharpBook);
+                    if (n != empty) {
+                        changed = true;
+                        next.put(e.getKey(), n);
+                    }
+                }
+            }
+            if (!changed) {
+                return this;
+            }
+            return new Market(gameId, market, version + 1, nextBooks, Collections.unmodifiableMap(next));
+        }
+    }
+
+    public static final class Outcome {
+        public final String name;
+        /** Bookmaker → decimal price. */
+        public final Map<String, Double> prices;
+        public final String bestBook;
+        public final double bestPrice;
+        /** Sharp book's decimal price, NaN when it isn't quoting this outcome. */
+        public final double sharpPrice;
+
+        Outcome(String name, Map<String, Double> prices, String bestBook, double bestPrice, double sharpPrice) {
+            this.name       = name;
+            this.prices     = prices;
+            this.bestBook   = bestBook;
+            this.bestPrice  = bestPrice;
+            this.sharpPrice = sharpPrice;
+        }
+
+        public boolean hasSharp() {
+            return !Double.isNaN(sharpPrice);
+        }
+
+        /** Decimal price for a book, or NaN if it doesn't quote this outcome. */
+        public double price(String book) {
+            Double p = prices.get(book);
+            return p != null ? p : Double.NaN;
+        }
+
+        Outcome withPrice(String book, Double price, String sharpBook) {
+            boolean valid = price != null && price > 1.0;
+            Double prev = prices.get(book);
+            if (valid ? price.equals(prev) : prev == null) {
+                return this;
+            }
+            Map<String, Double> next = new LinkedHashMap<>(prices);
+            if (valid) next.put(book, price);
+            else next.remove(book);
+
+            String best = bestBook;
+            double bestP = bestPrice;
+            if (valid && price > bestP) {
+                best = book;
+                bestP = price;
+            } else if (book.equals(bestBook)) {
+                // the leader got worse or pulled its line: re-rank this outcome only
+                best = null;
+                bestP = 0.0;
+                for (Map.Entry<String, Double> e : next.entrySet()) {
+                    if (e.getValue() > bestP) {
+                        best = e.getKey();
+                        bestP = e.getValue();
+                    }
+                }
+            }
+            double sharp = sharpPrice;
+            if (book.equalsIgnoreCase(sharpBook)) {
+                sharp = valid ? price : Double.NaN;
+            }
+            return new Outcome(name, Collections.unmodifiableMap(next), best, bestP, sharp);
+        }
+    }
+}
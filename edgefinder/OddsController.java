@@ -11,21 +11,36 @@ import reactor.core.publisher.Mono;
 @RestController
 public class OddsController {
     private final WebClient client;
+    private final OddsBook oddsBook;
+    private final GamesService gamesService;
 
-    public OddsController(WebClient.Builder builder, 
+    public OddsController(UpstreamTransport transport,
+                          OddsBook oddsBook,
+                          GamesService gamesService,
                           @Value("${apisports.key}") String apiKey,
                           @Value("${apisports.host}") String host) {
-        this.client = builder
-            .baseUrl("https://" + host)
+        this.client = transport.client("https://" + host)
             .defaultHeader("x-apisports-key", apiKey)
             .build();
+        this.oddsBook = oddsBook;
+        this.gamesService = gamesService;
     }
 
     @GetMapping("/api/odds")
     public Mono<JsonNode> getOdds(@RequestParam("gameId") String gameId) {
-        return client.get()
+        return linkGame(gameId).then(client.get()
             .uri(uri -> uri.path("/odds").queryParam("game", gameId).build())
             .retrieve()
-            .bodyToMono(JsonNode.class);
+            .bodyToMono(JsonNode.class)
+            .doOnNext(root -> oddsBook.ingestApiSports(gameId, root)));
+    }
+
+    /** Links the game to its canonical {@link OddsBook} key first; best effort. */
+    private Mono<Void> linkGame(String gameId) {
+        if (oddsBook.isLinked(gameId)) return Mono.empty();
+        return gamesService.fetchGame(gameId)
+            .doOnNext(g -> oddsBook.link(gameId, g.date, g.homeName, g.awayName))
+            .onErrorResume(ex -> Mono.empty())
+            .then();
     }
 }
\ No newline at end of file
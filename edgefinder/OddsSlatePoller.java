@@ -0,0 +1,103 @@
+package com.edgefinder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Periodically pulls the whole day's apisports odds into the {@link OddsBook}
+ * so slate-wide consumers (the EV leaderboard) stay current without a UI
+ * hitting every game. Each game is linked to its canonical key first so
+ * Sportradar prices for it land in the same market. Games that drop off the
+ * slate are evicted.
+ *
+ * Off by default since every poll spends apisports quota; enable with
+ * {@code odds.poll.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "odds.poll.enabled", havingValue = "true")
+public class OddsSlatePoller {
+    private static final Logger log = LoggerFactory.getLogger(OddsSlatePoller.class);
+
+    private final WebClient client;
+    private final OddsBook oddsBook;
+    private final GamesService gamesService;
+    private final String league;
+    private final String season;
+    private final ZoneId zone;
+    private Set<String> lastSlate = Set.of();
+
+    public OddsSlatePoller(UpstreamTransport transport,
+                           OddsBook oddsBook,
+                           GamesService gamesService,
+                           @Value("${apisports.host}") String host,
+                           @Value("${apisports.key}") String apiKey,
+                           @Value("${odds.poll.league:1}") String league,
+                           @Value("${odds.poll.season:2025}") String season,
+                           @Value("${odds.poll.timezone:America/New_York}") String timezone) {
+        this.client = transport.client("https://" + host)
+            .defaultHeader("x-apisports-key", apiKey)
+            .build();
+        this.oddsBook = oddsBook;
+        this.gamesService = gamesService;
+        this.league = league;
+        this.season = season;
+        this.zone = ZoneId.of(timezone);
+    }
+
+    @Scheduled(fixedDelayString = "${odds.poll.interval-ms:60000}")
+    public void poll() {
+        String date = LocalDate.now(zone).toString();
+        JsonNode root;
+        try {
+            root = client.get()
+                .uri(uri -> uri.path("/odds")
+                    .queryParam("league", league)
+                    .queryParam("season", season)
+                    .queryParam("date", date)
+                    .build())
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block();
+        } catch (Exception ex) {
+            log.warn("Odds slate poll for {} failed", date, ex);
+            return;
+        }
+        if (root == null) return;
+
+        linkSlate(LocalDate.parse(date));
+        oddsBook.ingestApiSports(null, root);
+
+        Set<String> slate = new HashSet<>();
+        for (JsonNode entry : root.path("response")) {
+            slate.add(entry.path("game").path("id").asText());
+        }
+        for (String gone : lastSlate) {
+            if (!slate.contains(gone)) oddsBook.evict(gone);
+        }
+        lastSlate = slate;
+    }
+
+    /** Links the day's apisports game ids to canonical keys so other providers' prices merge in. */
+    private void linkSlate(LocalDate date) {
+        try {
+            gamesService.fetchRange(date, date, league, season, zone.getId())
+                .ofType(GamesService.GameRecord.class)
+                .filter(g -> !oddsBook.isLinked(String.valueOf(g.id)))
+                .doOnNext(g -> oddsBook.link(String.valueOf(g.id), g.date, g.homeName, g.awayName))
+                .blockLast();
+        } catch (Exception ex) {
+            log.warn("Could not link the {} slate to canonical game keys", date, ex);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.edgefinder;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps per-player running totals of the regular-season game log so props
+ * don't have to re-download and recount the whole season on every request.
+ *
+ * Each sync only asks statsapi for games on or after the last synced date.
+ * Games on that date are matched by gamePk and re-applied as a delta, so a
+ * game that was still in progress (or corrected later that day) ends up with
+ * its final line instead of whatever the first sync saw.
+ */
+@Component
+public class PlayerGameLogAggregator {
+
+    private static final String BASE_URL = "https://statsapi.mlb.com/api/v1";
+    private static final String SEASON = "2025";
+
+    /** Stat keys pulled from each gameLog split, in column order. */
+    static final String[] STAT_KEYS = {
+        "hits", "atBats", "baseOnBalls", "strikeOuts", "runs", "rbi", "errors"
+    };
+    static final int HITS = 0, AT_BATS = 1, WALKS = 2, STRIKE_OUTS = 3,
+                     RUNS = 4, RBI = 5, ERRORS = 6;
+    /** Derived column: 1 if the player had at least one hit that game. */
+    static final int GAMES_WITH_HIT = STAT_KEYS.length;
+    static final int COLUMNS = STAT_KEYS.length + 1;
+
+    /** Rolling window sizes, in games. The ring holds the largest one. */
+    static final int[] WINDOWS = {7, 15, 30};
+
+    public static final String SPLIT_SEASON = "season";
+    public static final String SPLIT_HOME = "home";
+    public static final String SPLIT_AWAY = "away";
+
+    private final WebClient mlb;
+    private final Map<Long, PlayerLog> players = new ConcurrentHashMap<>();
+
+    public PlayerGameLogAggregator(UpstreamTransport transport) {
+        this.mlb = transport.client(BASE_URL).build();
+    }
+
+    /**
+     * Brings the player's aggregates up to date and returns a copy of the
+     * totals for the requested split: season, home, away, last7, last15 or last30.
+     */
+    public SplitTotals totals(Long playerId, String split) {
+        if (!isValidSplit(split)) {
+            throw new IllegalArgumentException("Unknown split: " + split);
+        }
+        ProfilingEvents.CacheLookup ev = new ProfilingEvents.CacheLookup("player-game-log", String.valueOf(playerId));
+        PlayerLog log = players.get(playerId);
+        ev.hit = log != null;
+        ev.commit();
+        if (log == null) {
+            log = players.computeIfAbsent(playerId, id -> new PlayerLog());
+        }
+        synchronized (log) {
+            sync(playerId, log);
+            return log.snapshot(split);
+        }
+    }
+
+    /** True for season, home, away and the lastN windows we keep. */
+    public static boolean isValidSplit(String split) {
+        if (SPLIT_SEASON.equals(split) || SPLIT_HOME.equals(split) || SPLIT_AWAY.equals(split)) {
+            return true;
+        }
+        for (int w : WINDOWS) {
+            if (("last" + w).equals(split)) return true;
+        }
+        return false;
+    }
+
+    // ---------- Incremental sync ----------
+
+    private void sync(Long playerId, PlayerLog log) {
+        List<Map<String, Object>> splits = extractLogSplits(fetchGameLog(playerId, log.lastDate));
+        for (Map<String, Object> split : splits) {
+            LocalDate date = LocalDate.parse(String.valueOf(split.get("date")));
+            if (log.lastDate != null && date.isBefore(log.lastDate)) continue;
+
+            Map<String, Object> stat = (Map<String, Object>) split.get("stat");
+            int[] row = new int[COLUMNS];
+            for (int i = 0; i < STAT_KEYS.length; i++) {
+                row[i] = getStatValue(stat, STAT_KEYS[i]);
+            }
+            row[GAMES_WITH_HIT] = row[HITS] > 0 ? 1 : 0;
+
+            String gamePk = gamePkOf(split);
+            if (date.equals(log.lastDate)) {
+                LoggedGame seen = log.lastDateGames.get(gamePk);
+                if (seen != null) {
+                    log.replace(seen, row);
+                    continue;
+                }
+            } else {
+                log.lastDate = date;
+                log.lastDateGames.clear();
+            }
+            log.lastDateGames.put(gamePk, log.add(row, Boolean.TRUE.equals(split.get("isHome"))));
+        }
+    }
+
+    private Map<String, Object> fetchGameLog(Long playerId, LocalDate since) {
+        return mlb.get()
+            .uri(uri -> {
+                uri.path("/people/{id}/stats")
+                    .queryParam("stats", "gameLog")
+                    .queryParam("season", SEASON)
+                    .queryParam("gameType", "R");
+                if (since != null) {
+                    // inclusive, so a second game on the same date is not missed
+                    uri.queryParam("startDate", since);
+                }
+                return uri.build(playerId);
+            })
+            .retrieve().bodyToMono(Map.class).block();
+    }
+
+    private List<Map<String, Object>> extractLogSplits(Map<String, Object> response) {
+        if (response == null) return List.of();
+        List<?> statsList = (List<?>) response.get("stats");
+        if (statsList == null || statsList.isEmpty()) return List.of();
+        Map<?,?> firstStats = (Map<?,?>) statsList.get(0);
+        List<?> splits = (List<?>) firstStats.get("splits");
+        if (splits == null) return List.of();
+        return (List<Map<String, Object>>) splits;
+    }
+
+    private String gamePkOf(Map<String, Object> split) {
+        Object game = split.get("game");
+        if (game instanceof Map<?,?> g) {
+            return String.valueOf(g.get("gamePk"));
+        }
+        return String.valueOf(split.get("date"));
+    }
+
+    private int getStatValue(Map<String, Object> stats, String key) {
+        Object val = stats == null ? null : stats.get(key);
+        if (val instanceof Number) {
+            return ((Number) val).intValue();
+        }
+        try {
+            return Integer.parseInt(val.toString());
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    // ---------- Per-player state ----------
+
+    /**
+     * Running totals plus one ring of the most recent games. Every window
+     * keeps its own sum: adding a game adds the new row and subtracts the row
+     * that just fell out of that window, so each update is O(windows).
+     */
+    private static final class PlayerLog {
+        LocalDate lastDate;
+        /** Games on {@code lastDate} by gamePk, so a re-fetch can correct them. */
+        final Map<String, LoggedGame> lastDateGames = new HashMap<>();
+
+        final int[] season = new int[COLUMNS];
+        final int[] home = new int[COLUMNS];
+        final int[] away = new int[COLUMNS];
+        int seasonGames, homeGames, awayGames;
+
+        final int[][] ring = new int[WINDOWS[WINDOWS.length - 1]][];
+        int ringCount;   // total games ever pushed
+        final int[][] windowSums = new int[WINDOWS.length][COLUMNS];
+
+        LoggedGame add(int[] row, boolean isHome) {
+            addInto(season, row);
+            seasonGames++;
+            if (isHome) { addInto(home, row); homeGames++; }
+            else        { addInto(away, row); awayGames++; }
+
+            for (int w = 0; w < WINDOWS.length; w++) {
+                addInto(windowSums[w], row);
+                if (ringCount >= WINDOWS[w]) {
+                    int[] evicted = ring[(ringCount - WINDOWS[w]) % ring.length];
+                    for (int c = 0; c < COLUMNS; c++) windowSums[w][c] -= evicted[c];
+                }
+            }
+            ring[ringCount % ring.length] = row;
+            return new LoggedGame(row, isHome, ringCount++);
+        }
+
+        /**
+         * Swaps an already counted game's line for a fresher one: the
+         * difference goes into every total and into each window the game is
+         * still inside, and the ring row is updated in place.
+         */
+        void replace(LoggedGame game, int[] row) {
+            int[] delta = new int[COLUMNS];
+            for (int c = 0; c < COLUMNS; c++) delta[c] = row[c] - game.row[c];
+            addInto(season, delta);
+            addInto(game.home ? home : away, delta);
+            for (int w = 0; w < WINDOWS.length; w++) {
+                if (ringCount - game.index <= WINDOWS[w]) addInto(windowSums[w], delta);
+            }
+            System.arraycopy(row, 0, game.row, 0, COLUMNS);
+        }
+
+        SplitTotals snapshot(String split) {
+            switch (split) {
+                case SPLIT_SEASON: return new SplitTotals(split, seasonGames, season.clone());
+                case SPLIT_HOME:   return new SplitTotals(split, homeGames, home.clone());
+                case SPLIT_AWAY:   return new SplitTotals(split, awayGames, away.clone());
+                default:
+                    for (int w = 0; w < WINDOWS.length; w++) {
+                        if (split.equals("last" + WINDOWS[w])) {
+                            return new SplitTotals(split,
+                                Math.min(ringCount, WINDOWS[w]), windowSums[w].clone());
+                        }
+                    }
+                    throw new IllegalArgumentException("Unknown split: " + split);
+            }
+        }
+
+        private static void addInto(int[] into, int[] row) {
+            for (int c = 0; c < COLUMNS; c++) into[c] += row[c];
+        }
+    }
+
+    /** A game already folded into a {@link PlayerLog}, and where it sits in the ring. */
+    private static final class LoggedGame {
+        final int[] row;
+        final boolean home;
+        final int index;
+
+        LoggedGame(int[] row, boolean home, int index) {
+            this.row   = row;
+            this.home  = home;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Immutable totals for one split, indexed by the column constants above.
+     */
+    public static class SplitTotals {
+        public final String split;
+        public final int games;
+        private final int[] totals;
+
+        SplitTotals(String split, int games, int[] totals) {
+            this.split  = split;
+            this.games  = games;
+            this.totals = totals;
+        }
+
+        public int get(int column) {
+            return totals[column];
+        }
+    }
+}
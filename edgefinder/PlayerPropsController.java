@@ -1,18 +1,18 @@
 package com.edgefinder;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Controller to expose player prop endpoints
@@ -21,13 +21,25 @@ import java.util.Map;
 @RequestMapping("/api")
 public class PlayerPropsController {
 
-    private final PlayerPropsService propsService = new PlayerPropsService();
+    private final PlayerPropsService propsService;
 
+    public PlayerPropsController(PlayerPropsService propsService) {
+        this.propsService = propsService;
+    }
+
+    /**
+     * GET /api/props?playerId=123&split=last15
+     * split is one of season (default), home, away, last7, last15, last30.
+     */
     @GetMapping("/props")
     public ResponseEntity<List<PropDto>> getPlayerProps(
-            @RequestParam("playerId") Long playerId) {
+            @RequestParam("playerId") Long playerId,
+            @RequestParam(value = "split", defaultValue = "season") String split) {
+        if (!PlayerGameLogAggregator.isValidSplit(split)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown split: " + split);
+        }
         // Delegate to service to compute list of prop DTOs
-        List<PropDto> props = propsService.computeProps(playerId);
+        List<PropDto> props = propsService.computeProps(playerId, split);
         return ResponseEntity.ok(props);
     }
 }
@@ -38,34 +50,47 @@ public class PlayerPropsController {
 @Service
 class PlayerPropsService {
 
-    private static final String BASE_URL = "https://statsapi.mlb.com/api/v1";
-    private static final String SEASON = "2025";
-    private final RestTemplate restClient = new RestTemplate();
+    private final PlayerGameLogAggregator gameLogs;
+
+    public PlayerPropsService(PlayerGameLogAggregator gameLogs) {
+        this.gameLogs = gameLogs;
+    }
 
     /**
-     * Computes a list of PropDto for various statistics
+     * Computes a list of PropDto for the full season
      */
     public List<PropDto> computeProps(Long playerId) {
-        // 1) Fetch season aggregates
-        Map<String, Object> seasonResponse = fetchSeasonStats(playerId);
-        Map<String, Object> seasonStats = extractFirstSplitStats(seasonResponse);
-
-        // extract individual season stat values
-        int hits = getStatValue(seasonStats, "hits");
-        int atBats = getStatValue(seasonStats, "atBats");
-        int walks = getStatValue(seasonStats, "baseOnBalls");
-        int strikeOuts = getStatValue(seasonStats, "strikeOuts");
-        int runs = getStatValue(seasonStats, "runs");
-        int rbi = getStatValue(seasonStats, "rbi");
-        int errors = getStatValue(seasonStats, "errors");
-
-        // 2) Fetch game log to get total games and games with a hit
-        Map<String, Object> logResponse = fetchGameLog(playerId);
-        List<Map<String, Object>> gameLogSplits = extractLogSplits(logResponse);
-        int totalGames = gameLogSplits.size();
-        int gamesWithHit = countGamesWithStat(gameLogSplits, "hits");
-
-        // 3) Build a list of PropDto objects
+        return computeProps(playerId, PlayerGameLogAggregator.SPLIT_SEASON);
+    }
+
+    /**
+     * Computes a list of PropDto for various statistics over one split.
+     * Totals come from the incrementally maintained game-log aggregates,
+     * so only games played since the last call are fetched.
+     */
+    public List<PropDto> computeProps(Long playerId, String split) {
+        ProfilingEvents.ModelCompute ev = new ProfilingEvents.ModelCompute("player-props", null, playerId);
+        try {
+            return buildProps(gameLogs.totals(playerId, split));
+        } finally {
+            ev.commit();
+        }
+    }
+
+    private List<PropDto> buildProps(PlayerGameLogAggregator.SplitTotals t) {
+
+        // extract individual stat values
+        int hits = t.get(PlayerGameLogAggregator.HITS);
+        int atBats = t.get(PlayerGameLogAggregator.AT_BATS);
+        int walks = t.get(PlayerGameLogAggregator.WALKS);
+        int strikeOuts = t.get(PlayerGameLogAggregator.STRIKE_OUTS);
+        int runs = t.get(PlayerGameLogAggregator.RUNS);
+        int rbi = t.get(PlayerGameLogAggregator.RBI);
+        int errors = t.get(PlayerGameLogAggregator.ERRORS);
+        int totalGames = t.games;
+        int gamesWithHit = t.get(PlayerGameLogAggregator.GAMES_WITH_HIT);
+
+        // Build a list of PropDto objects
         List<PropDto> propList = new ArrayList<>();
         propList.add(computeHitsProp(hits, atBats));
         propList.add(computeObpProp(hits, walks, atBats, walks, strikeOuts));
@@ -79,75 +104,6 @@ class PlayerPropsService {
         return propList;
     }
 
-    // ---------- Season data fetching ----------
-
-    private Map<String, Object> fetchSeasonStats(Long playerId) {
-        String url = String.format(
-            "%s/people/%d/stats?stats=season&season=%s&gameType=R",
-            BASE_URL, playerId, SEASON
-        );
-        return restClient.getForObject(url, Map.class);
-    }
-
-    private Map<String, Object> extractFirstSplitStats(Map<String, Object> response) {
-        List<?> statsList = (List<?>) response.get("stats");
-        if (statsList.isEmpty()) {
-            return Map.of();
-        }
-        Map<?,?> firstStats = (Map<?,?>) statsList.get(0);
-        List<?> splits = (List<?>) firstStats.get("splits");
-        if (splits.isEmpty()) {
-            return Map.of();
-        }
-        Map<?,?> split = (Map<?,?>) splits.get(0);
-        return (Map<String, Object>) split.get("stat");
-    }
-
-    private int getStatValue(Map<String, Object> stats, String key) {
-        Object val = stats.get(key);
-        if (val instanceof Number) {
-            return ((Number) val).intValue();
-        }
-        try {
-            return Integer.parseInt(val.toString());
-        } catch (Exception e) {
-            return 0;
-        }
-    }
-
-    // ---------- Game log fetching ----------
-
-    private Map<String, Object> fetchGameLog(Long playerId) {
-        String url = String.format(
-            "%s/people/%d/stats?stats=gameLog&season=%s&gameType=R",
-            BASE_URL, playerId, SEASON
-        );
-        return restClient.getForObject(url, Map.class);
-    }
-
-    private List<Map<String, Object>> extractLogSplits(Map<String, Object> response) {
-        List<?> statsList = (List<?>) response.get("stats");
-        if (statsList.isEmpty()) return List.of();
-        Map<?,?> firstStats = (Map<?,?>) statsList.get(0);
-        List<?> splits = (List<?>) firstStats.get("splits");
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Object s : splits) {
-            result.add((Map<String, Object>) s);
-        }
-        return result;
-    }
-
-    private int countGamesWithStat(
-            List<Map<String, Object>> gameLogSplits, String statKey) {
-        int count = 0;
-        for (Map<String, Object> entry : gameLogSplits) {
-            Map<String, Object> stat = (Map<String, Object>) entry.get("stat");
-            int value = getStatValue(stat, statKey);
-            if (value > 0) count++;
-        }
-        return count;
-    }
-
     // ---------- Individual prop computations ----------
 
     private PropDto computeHitsProp(int hits, int atBats) {
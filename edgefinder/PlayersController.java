@@ -11,9 +11,8 @@ import reactor.core.publisher.Mono;
 public class PlayersController {
     private final WebClient mlbClient;
 
-    public PlayersController(WebClient.Builder builder) {
-        this.mlbClient = builder
-                .baseUrl("https://statsapi.mlb.com/api/v1")
+    public PlayersController(UpstreamTransport transport) {
+        this.mlbClient = transport.client("https://statsapi.mlb.com/api/v1")
                 .build();
     }
 
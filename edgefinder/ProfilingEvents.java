@@ -0,0 +1,72 @@
+package com.edgefinder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Custom Flight Recorder events for the hot paths, picked up by the
+ * continuous recording in {@link FlightRecorderService}. Each event is
+ * begun on construction; callers set the outcome fields and {@code commit()}.
+ * Stack traces are off to keep them cheap enough to leave on.
+ */
+final class ProfilingEvents {
+
+    private ProfilingEvents() { }
+
+    @Name("com.edgefinder.UpstreamCall")
+    @Label("Upstream Call")
+    @Description("One HTTP exchange with an upstream API, until response headers")
+    @Category({"EdgeFinder", "Upstream"})
+    @StackTrace(false)
+    static final class UpstreamCall extends Event {
+        @Label("Host")    String host;
+        @Label("Method")  String method;
+        @Label("Path")    String path;
+        @Label("Status")  int status;
+        @Label("Outcome") String outcome;
+
+        UpstreamCall(String host, String method, String path) {
+            this.host = host;
+            this.method = method;
+            this.path = path;
+            begin();
+        }
+    }
+
+    @Name("com.edgefinder.CacheLookup")
+    @Label("Cache Lookup")
+    @Category({"EdgeFinder", "Cache"})
+    @StackTrace(false)
+    static final class CacheLookup extends Event {
+        @Label("Cache") String cache;
+        @Label("Key")   String key;
+        @Label("Hit")   boolean hit;
+
+        CacheLookup(String cache, String key) {
+            this.cache = cache;
+            this.key = key;
+            begin();
+        }
+    }
+
+    @Name("com.edgefinder.ModelCompute")
+    @Label("Model Compute")
+    @Category({"EdgeFinder", "Model"})
+    @StackTrace(false)
+    static final class ModelCompute extends Event {
+        @Label("Model")     String model;
+        @Label("Game Pk")   String gamePk;
+        @Label("Player Id") long playerId;
+
+        ModelCompute(String model, String gamePk, long playerId) {
+            this.model = model;
+            this.gamePk = gamePk;
+            this.playerId = playerId;
+            begin();
+        }
+    }
+}
@@ -12,8 +12,8 @@ import reactor.core.publisher.Mono;
 public class ScheduleController {
     private final WebClient mlbClient;
 
-    public ScheduleController(WebClient.Builder builder) {
-        this.mlbClient = builder.baseUrl("https://statsapi.mlb.com/api/v1").build();
+    public ScheduleController(UpstreamTransport transport) {
+        this.mlbClient = transport.client("https://statsapi.mlb.com/api/v1").build();
     }
 
     @GetMapping("/api/schedule")
@@ -0,0 +1,288 @@
+package com.edgefinder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Completed regular-season MLB games, cached per season as flat int arrays
+ * in date order, with teams mapped to dense indexes so rating and
+ * head-to-head tables can be plain arrays.
+ *
+ * On startup the last {@code history.seasons-back} seasons are pulled from
+ * statsapi once (in the background); after that only today's and
+ * yesterday's schedule are polled and newly Final games are appended and
+ * handed to listeners. Seasons that fail to load are retried on later polls
+ * and listeners rebuild once one comes in; until the current season itself
+ * has loaded the service reports not-loaded and no Finals are appended.
+ */
+@Service
+public class ScheduleHistoryService {
+    private static final Logger log = LoggerFactory.getLogger(ScheduleHistoryService.class);
+
+    /** Notified once the history is loaded, then for every newly Final game. */
+    public interface Listener {
+        void onHistoryLoaded();
+        void onFinal(int season, SeasonGames games, int index);
+    }
+
+    private final WebClient mlb;
+    private final int currentSeason;
+    private final int seasonsBack;
+    private final ZoneId zone;
+
+    private final Map<Integer, Integer> teamIndex = new ConcurrentHashMap<>();
+    private final Map<String, Integer> nameIndex = new ConcurrentHashMap<>();
+    private volatile int[] teamIds = new int[0];
+    private final Map<Integer, SeasonGames> seasons = new ConcurrentHashMap<>();
+    private final Set<Integer> seenGamePks = ConcurrentHashMap.newKeySet();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    /** Seasons not fetched yet, or whose last fetch failed. */
+    private final Set<Integer> missing = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile boolean loaded;
+
+    public ScheduleHistoryService(UpstreamTransport transport,
+                                  @Value("${history.current-season:2025}") int currentSeason,
+                                  @Value("${history.seasons-back:10}") int seasonsBack,
+                                  @Value("${history.timezone:America/New_York}") String timezone) {
+        this.mlb = transport.client("https://statsapi.mlb.com/api/v1").build();
+        this.currentSeason = currentSeason;
+        this.seasonsBack = seasonsBack;
+        this.zone = ZoneId.of(timezone);
+        for (int s = currentSeason - seasonsBack + 1; s <= currentSeason; s++) {
+            missing.add(s);
+        }
+    }
+
+    public void addListener(Listener l) {
+        listeners.add(l);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int currentSeason() {
+        return currentSeason;
+    }
+
+    /** Loaded seasons, oldest first. */
+    public List<Integer> seasons() {
+        List<Integer> out = new ArrayList<>(seasons.keySet());
+        Collections.sort(out);
+        return out;
+    }
+
+    public SeasonGames season(int season) {
+        return seasons.get(season);
+    }
+
+    public int teamCount() {
+        return teamIds.length;
+    }
+
+    /** Dense index for an MLB team id, or -1. */
+    public int indexOf(int teamId) {
+        return teamIndex.getOrDefault(teamId, -1);
+    }
+
+    /** Dense index for a full team name ("New York Yankees"), case-insensitive, or -1. */
+    public int indexOfName(String name) {
+        return name == null ? -1 : nameIndex.getOrDefault(name.trim().toLowerCase(), -1);
+    }
+
+    public int teamId(int index) {
+        return teamIds[index];
+    }
+
+    // ---------- Loading ----------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (!loading.compareAndSet(false, true)) return;
+        Thread t = new Thread(() -> {
+            try {
+                loadHistory();
+            } finally {
+                loading.set(false);
+            }
+        }, "schedule-history");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** Fetches every missing season; listeners rebuild if any came in and the current season is there. */
+    void loadHistory() {
+        long started = System.currentTimeMillis();
+        List<Integer> fetched = new ArrayList<>();
+        for (int season : new TreeSet<>(missing)) {
+            try {
+                JsonNode root = mlb.get()
+                    .uri(uri -> uri.path("/schedule")
+                        .queryParam("sportId", "1")
+                        .queryParam("gameType", "R")
+                        .queryParam("season", season)
+                        .build())
+                    .retrieve().bodyToMono(JsonNode.class).block();
+                SeasonGames games = seasons.computeIfAbsent(season, SeasonGames::new);
+                synchronized (games) {
+                    collectFinals(root, games);
+                }
+                missing.remove(season);
+                fetched.add(season);
+            } catch (Exception ex) {
+                log.warn("Could not load {} schedule history", season, ex);
+            }
+        }
+        if (!missing.isEmpty()) {
+            log.error("Schedule history is missing seasons {}; retrying on the next poll", new TreeSet<>(missing));
+        }
+        if (fetched.isEmpty()) return;
+        if (missing.contains(currentSeason)) {
+            log.error("Current season {} is not loaded; Elo and head-to-head stay unavailable until a retry succeeds",
+                      currentSeason);
+            return;
+        }
+        log.info("Loaded schedule history for seasons {} in {} ms",
+                 fetched, System.currentTimeMillis() - started);
+        for (Listener l : listeners) {
+            l.onHistoryLoaded();
+        }
+        // only now, so no Final is handed to a listener before it has built its state
+        loaded = true;
+    }
+
+    /**
+     * Retries missing seasons, then appends games that went Final since the
+     * last poll and notifies listeners. Once loaded, retries run here on the
+     * poll thread so a rebuild never overlaps an {@code onFinal}.
+     */
+    @Scheduled(fixedDelayString = "${history.poll-ms:300000}")
+    public void pollFinals() {
+        if (!loaded) {
+            loadInBackground(); // retries a failed initial load; no-op while one is running
+            return;
+        }
+        if (!missing.isEmpty() && loading.compareAndSet(false, true)) {
+            try {
+                loadHistory();
+            } finally {
+                loading.set(false);
+            }
+        }
+        LocalDate today = LocalDate.now(zone);
+        JsonNode root = mlb.get()
+            .uri(uri -> uri.path("/schedule")
+                .queryParam("sportId", "1")
+                .queryParam("gameType", "R")
+                .queryParam("startDate", today.minusDays(1))
+                .queryParam("endDate", today)
+                .build())
+            .retrieve().bodyToMono(JsonNode.class).block();
+        SeasonGames games = seasons.get(currentSeason);
+        int before, after;
+        synchronized (games) {
+            before = games.count;
+            collectFinals(root, games);
+            after = games.count;
+        }
+        for (int i = before; i < after; i++) {
+            for (Listener l : listeners) {
+                l.onFinal(currentSeason, games, i);
+            }
+        }
+    }
+
+    private void collectFinals(JsonNode root, SeasonGames into) {
+        if (root == null) return;
+        for (JsonNode day : root.path("dates")) {
+            int epochDay = (int) LocalDate.parse(day.path("date").asText()).toEpochDay();
+            for (JsonNode g : day.path("games")) {
+                if (!"Final".equals(g.path("status").path("abstractGameState").asText())) continue;
+                JsonNode home = g.path("teams").path("home");
+                JsonNode away = g.path("teams").path("away");
+                if (!home.has("score") || !away.has("score")) continue; // postponed / suspended
+                int homeRuns = home.path("score").asInt();
+                int awayRuns = away.path("score").asInt();
+                if (homeRuns == awayRuns) continue;
+                int gamePk = g.path("gamePk").asInt();
+                if (!seenGamePks.add(gamePk)) continue;
+                into.add(gamePk, epochDay,
+                         register(home.path("team")), register(away.path("team")),
+                         homeRuns, awayRuns);
+            }
+        }
+    }
+
+    private synchronized int register(JsonNode team) {
+        int id = team.path("id").asInt();
+        Integer idx = teamIndex.get(id);
+        if (idx == null) {
+            idx = teamIds.length;
+            int[] next = Arrays.copyOf(teamIds, idx + 1);
+            next[idx] = id;
+            teamIds = next;
+            teamIndex.put(id, idx);
+        }
+        String name = team.path("name").asText(null);
+        if (name != null) nameIndex.put(name.toLowerCase(), idx);
+        return idx;
+    }
+
+    /** One season's completed games, parallel primitive arrays in date order. */
+    public static final class SeasonGames {
+        public final int season;
+        int count;
+        int[] gamePk = new int[256];
+        int[] epochDay = new int[256];
+        int[] home = new int[256];
+        int[] away = new int[256];
+        int[] homeRuns = new int[256];
+        int[] awayRuns = new int[256];
+
+        SeasonGames(int season) {
+            this.season = season;
+        }
+
+        public int count()           { return count; }
+        public int gamePk(int i)     { return gamePk[i]; }
+        public int epochDay(int i)   { return epochDay[i]; }
+        public int home(int i)       { return home[i]; }
+        public int away(int i)       { return away[i]; }
+        public int homeRuns(int i)   { return homeRuns[i]; }
+        public int awayRuns(int i)   { return awayRuns[i]; }
+
+        void add(int pk, int day, int h, int a, int hr, int ar) {
+            if (count == gamePk.length) {
+                int n = count * 2;
+                gamePk = Arrays.copyOf(gamePk, n);
+                epochDay = Arrays.copyOf(epochDay, n);
+                home = Arrays.copyOf(home, n);
+                away = Arrays.copyOf(away, n);
+                homeRuns = Arrays.copyOf(homeRuns, n);
+                awayRuns = Arrays.copyOf(awayRuns, n);
+            }
+            gamePk[count] = pk;
+            epochDay[count] = day;
+            home[count] = h;
+            away[count] = a;
+            homeRuns[count] = hr;
+            awayRuns[count] = ar;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.edgefinder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring buffer.
+ *
+ * Producers claim a slot by CAS on the tail and publish it by writing the
+ * slot's sequence number; the single consumer only reads slots whose sequence
+ * says they're published. When the ring is full {@link #offer} fails instead
+ * of blocking, and the drop is counted.
+ */
+final class TickRing<E> {
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long head; // consumer-owned
+
+    TickRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** Enqueues without blocking; false (and counted) when the ring is full. */
+    boolean offer(E e) {
+        while (true) {
+            long t = tail.get();
+            int idx = (int) (t & mask);
+            long seq = sequences.get(idx);
+            if (seq == t) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    slots.lazySet(idx, e);
+                    sequences.set(idx, t + 1); // publish
+                    return true;
+                }
+            } else if (seq < t) {
+                dropped.incrementAndGet();
+                return false; // consumer hasn't freed this slot yet
+            }
+            // else another producer won the slot; retry with the new tail
+        }
+    }
+
+    /** Next published element, or null if none. Consumer thread only. */
+    E poll() {
+        int idx = (int) (head & mask);
+        if (sequences.get(idx) != head + 1) {
+            return null;
+        }
+        E e = slots.get(idx);
+        slots.lazySet(idx, null);
+        sequences.set(idx, head + mask + 1); // free for the producer one lap ahead
+        head++;
+        return e;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+}
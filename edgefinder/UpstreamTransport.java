@@ -0,0 +1,252 @@
+package com.edgefinder;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One HTTP transport for every upstream call.
+ *
+ * Each upstream host gets its own keep-alive connection pool (HTTP/2 where
+ * the server negotiates it, gzip, tuned connect/response timeouts) and its
+ * own circuit breaker. After {@code breaker.failure-threshold} consecutive
+ * failures (errors or 5xx) the breaker opens and calls to that host fail
+ * immediately with {@link UpstreamUnavailableException} for
+ * {@code breaker.open-ms}; then one probe call is let through to decide
+ * whether to close it again.
+ *
+ * Response bodies decoded in memory (JsonNode, String) may be up to
+ * {@code upstream.max-in-memory-mb}; full-season schedules and GUMBO live
+ * feeds are several MB, well past WebClient's 256KB default.
+ *
+ * Beans ask for {@link #client(String)} instead of {@code builder.baseUrl(...)}.
+ */
+@Component
+public class UpstreamTransport {
+    private static final Logger log = LoggerFactory.getLogger(UpstreamTransport.class);
+
+    private final WebClient.Builder builder;
+    private final int maxConnections;
+    private final int pendingAcquireMax;
+    private final Duration pendingAcquireTimeout;
+    private final Duration maxIdle;
+    private final int connectTimeoutMs;
+    private final Duration responseTimeout;
+    private final int failureThreshold;
+    private final long openMs;
+    private final int maxInMemoryBytes;
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+    public UpstreamTransport(WebClient.Builder builder,
+                             @Value("${upstream.max-connections:50}") int maxConnections,
+                             @Value("${upstream.pending-acquire-max:200}") int pendingAcquireMax,
+                             @Value("${upstream.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+                             @Value("${upstream.max-idle-ms:30000}") long maxIdleMs,
+                             @Value("${upstream.connect-timeout-ms:3000}") int connectTimeoutMs,
+                             @Value("${upstream.response-timeout-ms:10000}") long responseTimeoutMs,
+                             @Value("${upstream.breaker.failure-threshold:5}") int failureThreshold,
+                             @Value("${upstream.breaker.open-ms:30000}") long openMs,
+                             @Value("${upstream.max-in-memory-mb:32}") int maxInMemoryMb) {
+        this.builder = builder;
+        this.maxConnections = maxConnections;
+        this.pendingAcquireMax = pendingAcquireMax;
+        this.pendingAcquireTimeout = Duration.ofMillis(pendingAcquireTimeoutMs);
+        this.maxIdle = Duration.ofMillis(maxIdleMs);
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.responseTimeout = Duration.ofMillis(responseTimeoutMs);
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+        this.maxInMemoryBytes = maxInMemoryMb << 20;
+    }
+
+    /**
+     * A WebClient builder bound to {@code baseUrl}, sharing the pool and
+     * breaker of its host. Callers may add headers before {@code build()}.
+     */
+    public WebClient.Builder client(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        Host host = hosts.computeIfAbsent(uri.getHost(), h -> new Host(h, "https".equals(uri.getScheme())));
+        return builder.clone()
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(host.http))
+            .codecs(c -> c.defaultCodecs().maxInMemorySize(maxInMemoryBytes))
+            .filter(host.breakerFilter());
+    }
+
+    /** Pool occupancy and breaker state per upstream host. */
+    public List<Map<String, Object>> stats() {
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (Host h : hosts.values()) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("host",          h.name);
+            m.put("breaker",       h.breaker.state());
+            m.put("acquired",      0);
+            m.put("idle",          0);
+            m.put("allocated",     0);
+            m.put("pending",       0);
+            m.put("maxConnections", maxConnections);
+            m.put("rejectedFast",  h.breaker.rejected.sum());
+            for (ConnectionPoolMetrics pm : h.pools.values()) {
+                m.merge("acquired",  pm.acquiredSize(),       (a, b) -> (Integer) a + (Integer) b);
+                m.merge("idle",      pm.idleSize(),           (a, b) -> (Integer) a + (Integer) b);
+                m.merge("allocated", pm.allocatedSize(),      (a, b) -> (Integer) a + (Integer) b);
+                m.merge("pending",   pm.pendingAcquireSize(), (a, b) -> (Integer) a + (Integer) b);
+            }
+            out.add(m);
+        }
+        return out;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hosts.values().forEach(h -> h.provider.dispose());
+    }
+
+    // ---------- Per-host pool + breaker ----------
+
+    private final class Host {
+        final String name;
+        final ConnectionProvider provider;
+        final HttpClient http;
+        final CircuitBreaker breaker = new CircuitBreaker(failureThreshold, openMs);
+        /** Pool metrics by remote address, as registered by reactor-netty. */
+        final Map<SocketAddress, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+        Host(String name, boolean secure) {
+            this.name = name;
+            this.provider = ConnectionProvider.builder("upstream-" + name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdle)
+                .evictInBackground(maxIdle)
+                .metrics(true, () -> new ConnectionProvider.MeterRegistrar() {
+                    @Override
+                    public void registerMetrics(String poolName, String id, SocketAddress remote,
+                                                ConnectionPoolMetrics metrics) {
+                        pools.put(remote, metrics);
+                    }
+
+                    @Override
+                    public void deRegisterMetrics(String poolName, String id, SocketAddress remote) {
+                        pools.remove(remote);
+                    }
+                })
+                .build();
+            HttpClient client = HttpClient.create(provider)
+                .compress(true)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(responseTimeout);
+            // HTTP/2 via ALPN on TLS hosts, falling back to HTTP/1.1
+            this.http = secure
+                ? client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure()
+                : client;
+        }
+
+        ExchangeFilterFunction breakerFilter() {
+            return (request, next) -> Mono.defer(() -> {
+                ProfilingEvents.UpstreamCall ev = new ProfilingEvents.UpstreamCall(
+                    name, request.method().name(), request.url().getPath());
+                if (!breaker.tryAcquire()) {
+                    ev.outcome = "rejected";
+                    ev.commit();
+                    return Mono.error(new UpstreamUnavailableException(name));
+                }
+                return next.exchange(request)
+                    .doOnNext(resp -> {
+                        ev.status = resp.statusCode().value();
+                        ev.outcome = "response";
+                        if (resp.statusCode().is5xxServerError()) breaker.onFailure(name);
+                        else breaker.onSuccess();
+                    })
+                    .doOnError(ex -> {
+                        ev.outcome = "error";
+                        breaker.onFailure(name);
+                    })
+                    .doOnCancel(() -> {
+                        ev.outcome = "cancelled";
+                        breaker.onCancel();
+                    })
+                    .doFinally(signal -> ev.commit());
+            });
+        }
+    }
+
+    /** Consecutive-failure breaker: CLOSED → OPEN → HALF_OPEN (one probe) → CLOSED/OPEN. */
+    static final class CircuitBreaker {
+        private final int threshold;
+        private final long openMs;
+        private final AtomicBoolean probing = new AtomicBoolean();
+        private volatile int failures;
+        private volatile long openUntil;
+        final LongAdder rejected = new LongAdder();
+
+        CircuitBreaker(int threshold, long openMs) {
+            this.threshold = threshold;
+            this.openMs = openMs;
+        }
+
+        boolean tryAcquire() {
+            if (failures < threshold) return true;
+            if (System.currentTimeMillis() >= openUntil && probing.compareAndSet(false, true)) {
+                return true; // half-open probe
+            }
+            rejected.increment();
+            return false;
+        }
+
+        void onSuccess() {
+            failures = 0;
+            probing.set(false);
+        }
+
+        synchronized void onFailure(String host) {
+            failures++;
+            if (failures >= threshold) {
+                if (failures == threshold || probing.get()) {
+                    log.warn("Circuit open for upstream {} after {} failures", host, failures);
+                }
+                openUntil = System.currentTimeMillis() + openMs;
+            }
+            probing.set(false);
+        }
+
+        void onCancel() {
+            probing.set(false);
+        }
+
+        String state() {
+            if (failures < threshold) return "CLOSED";
+            return System.currentTimeMillis() >= openUntil ? "HALF_OPEN" : "OPEN";
+        }
+    }
+
+    /** Thrown without touching the network while a host's breaker is open. */
+    public static class UpstreamUnavailableException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public UpstreamUnavailableException(String host) {
+            super("Upstream " + host + " is unavailable (circuit open)");
+        }
+    }
+}
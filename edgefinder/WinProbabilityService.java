@@ -7,22 +7,35 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.OptionalDouble;
+
 @Service
 public class WinProbabilityService {
     private static final Logger log = LoggerFactory.getLogger(WinProbabilityService.class);
     private final WebClient client;
+    private final OddsBook oddsBook;
+    private final EloRatingEngine elo;
+    private final HeadToHeadMatrix h2hMatrix;
+    private final ScheduleHistoryService history;
 
     public WinProbabilityService(
-            WebClient.Builder builder,
+            UpstreamTransport transport,
+            OddsBook oddsBook,
+            EloRatingEngine elo,
+            HeadToHeadMatrix h2hMatrix,
+            ScheduleHistoryService history,
             @Value("${sportsradar.api.key}") String apiKey,
             @Value("${sportsradar.host}") String host,
             @Value("${sportsradar.mlb.ver}") String mlbVer,
             @Value("${sportsradar.odds.ver}") String oddsVer
     ) {
-        this.client = builder
-                .baseUrl("https://" + host)
+        this.client = transport.client("https://" + host)
                 .defaultHeader("Api-Key", apiKey)
                 .build();
+        this.oddsBook = oddsBook;
+        this.elo = elo;
+        this.h2hMatrix = h2hMatrix;
+        this.history = history;
         this.mlbVer = mlbVer;
         this.oddsVer = oddsVer;
     }
@@ -31,10 +44,12 @@ public class WinProbabilityService {
     private final String oddsVer;
 
     public WinProbResponse computeWinProb(String eventId) {
+        ProfilingEvents.ModelCompute ev = new ProfilingEvents.ModelCompute("win-probability", eventId, 0);
         try {
-            double pinnacle = fetchPinnacle(eventId);
-            double season   = fetchSeasonPct(eventId);
-            double h2h      = fetchH2HPct(eventId);
+            JsonNode sum    = fetchSummary(eventId);
+            double pinnacle = fetchPinnacle(eventId, sum);
+            double season   = fetchSeasonPct(sum);
+            double h2h      = fetchH2HPct(eventId, sum);
             double homeProb = 0.5 * pinnacle + 0.3 * season + 0.2 * h2h;
             double awayProb = 1 - homeProb;
             return new WinProbResponse(
@@ -45,33 +60,53 @@ public class WinProbabilityService {
         } catch (Exception ex) {
             log.error("Error computing win prob for {}", eventId, ex);
             throw new RuntimeException(ex);
+        } finally {
+            ev.commit();
         }
     }
 
-private double fetchPinnacle(String eid) {
-    JsonNode root = client.get()
-        .uri(uri -> uri
-            .path("/oddscomparison/{ver}/prematch/{eid}/bookmakers.json")
-            .build(oddsVer, eid))
-        .retrieve().bodyToMono(JsonNode.class).block();
-
-    for (JsonNode bm : root.path("data").path("bookmakers")) {
-        if ("Pinnacle".equals(bm.path("name").asText())) {
-            double dec = bm.path("bets").get(0).path("values").get(0).path("decimal").asDouble();
-            return 1.0 / dec;
+    private double fetchPinnacle(String eid, JsonNode sum) {
+        // share the market with apisports books for the same game
+        JsonNode event = sum.path("data").path("sport_event");
+        JsonNode competitors = event.path("competitors");
+        oddsBook.link(eid, event.path("scheduled").asText(null),
+                fullName(competitors.path(0)), fullName(competitors.path(1)));
+
+        JsonNode root = client.get()
+            .uri(uri -> uri
+                .path("/oddscomparison/{ver}/prematch/{eid}/bookmakers.json")
+                .build(oddsVer, eid))
+            .retrieve().bodyToMono(JsonNode.class).block();
+        oddsBook.ingestSportradar(eid, root);
+
+        OddsBook.Market market = oddsBook.market(eid, OddsBook.MONEYLINE);
+        OddsBook.Outcome home = market != null ? market.outcome(OddsBook.HOME) : null;
+        if (home != null && home.hasSharp()) {
+            return 1.0 / home.sharpPrice;
         }
+        return 0.5; // fallback if Pinnacle not found
     }
-    return 0.5; // fallback if Pinnacle not found
-}
 
-    private double fetchSeasonPct(String eid) {
-        JsonNode sum = client.get()
+    private JsonNode fetchSummary(String eid) {
+        return client.get()
                 .uri(uri -> uri
                         .path("/v3/mlb/games/{eid}/summary.json")
                         .build(mlbVer, eid))
                 .retrieve().bodyToMono(JsonNode.class).block();
+    }
+
+    private double fetchSeasonPct(JsonNode sum) {
+        JsonNode competitors = sum.path("data").path("sport_event").path("competitors");
+
+        // prefer Elo home win expectancy when both teams can be matched by name
+        OptionalDouble eloHome = elo.homeWinProbabilityByName(
+                fullName(competitors.path(0)), fullName(competitors.path(1)));
+        if (eloHome.isPresent()) {
+            return eloHome.getAsDouble();
+        }
+
         String sid = sum.path("data").path("sport_event").path("season").path("id").asText();
-        String hid = sum.path("data").path("sport_event").path("competitors").get(0).path("id").asText();
+        String hid = competitors.get(0).path("id").asText();
         JsonNode stand = client.get()
                 .uri(uri -> uri
                         .path("/v3/mlb/seasons/{sid}/standings.json")
@@ -87,15 +122,23 @@ private double fetchPinnacle(String eid) {
         return 0.5;
     }
 
-    private double fetchH2HPct(String eid) {
-        JsonNode h2h = client.get()
-                .uri(uri -> uri
-                        .path("/v3/mlb/games/{eid}/h2h.json")
-                        .build(mlbVer, eid))
-                .retrieve().bodyToMono(JsonNode.class).block();
-        int hw = h2h.path("data").path("home_wins").asInt();
-        int aw = h2h.path("data").path("away_wins").asInt();
-        return (hw + aw) > 0 ? (double) hw / (hw + aw) : 0.5;
+    /** "New York Yankees" from either a full name or Sportradar's market + name. */
+    private static String fullName(JsonNode competitor) {
+        String name = competitor.path("name").asText();
+        String market = competitor.path("market").asText("");
+        return market.isEmpty() || name.startsWith(market) ? name : market + " " + name;
+    }
+
+    /** Season head-to-head from the in-memory matrix; neutral when it can't answer. */
+    private double fetchH2HPct(String eid, JsonNode sum) {
+        JsonNode competitors = sum.path("data").path("sport_event").path("competitors");
+        HeadToHeadMatrix.Record rec = h2hMatrix.recordByName(history.currentSeason(),
+                fullName(competitors.path(0)), fullName(competitors.path(1)));
+        if (rec == null) {
+            log.debug("No head-to-head data for {} yet, using 0.5", eid);
+            return 0.5;
+        }
+        return rec.games() > 0 ? (double) rec.wins / rec.games() : 0.5;
     }
 
     public static class WinProbResponse {
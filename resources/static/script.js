@@ -392,8 +392,15 @@ async function renderTeam(gameId, teamId, containerId) {
     }
 }
 
+// one live-feed socket at a time; closed whenever another tab loads
+let liveSocket = null;
+
 async function loadTab(game, tab, panel) {
     console.log(">> loadTab:", tab);
+    if (liveSocket) {
+        liveSocket.close();
+        liveSocket = null;
+    }
     panel.innerHTML = `<p>Loading live data…</p>`;
     const gameDate = new Date(game.date).toISOString().split("T")[0];
     const tz = Intl.DateTimeFormat().resolvedOptions().timeZone;
@@ -650,49 +657,57 @@ async function loadTab(game, tab, panel) {
               }
               const { gamePk } = mlbGame;
             
-              // fire off both realtime calls in parallel
-              const [ctx, lsRes] = await Promise.all([
-                fetch(`${BASE_URL}/game/${gamePk}/contextMetrics`).then(r => r.json()),
-                fetch(`${BASE_URL}/game/${gamePk}/linescore?timezone=${tz}`).then(r => r.json())
-              ]);
-            
-              // pull win-probs and format as percentages
-              const hWP = (ctx.homeWinProbability * 100).toFixed(1);
-              const aWP = (ctx.awayWinProbability * 100).toFixed(1);
-            
-              // build inning headers & cells
-              const inningLabels = lsRes.linescore.innings
-                .map(i => `<th>${i.ordinal ?? i.ordinalNum}</th>`).join("");
-              const awayCells = lsRes.linescore.innings
-                .map(i => `<td>${typeof i.away === "object" ? i.away.runs : i.away}</td>`).join("");
-              const homeCells = lsRes.linescore.innings
-                .map(i => `<td>${typeof i.home === "object" ? i.home.runs : i.home}</td>`).join("");
-            
-              // render the full live table
-              panel.innerHTML = `
-                <h3>Live</h3>
-                <div class="live-probabilities">
-                  <strong>${game.teams.home.name}</strong> ${hWP}% &nbsp;|&nbsp;
-                  <strong>${game.teams.away.name}</strong> ${aWP}%
-                </div>
-                <table class="linescore">
-                  <tr>
-                    <th>Inning</th>${inningLabels}<th>R</th><th>H</th><th>E</th>
-                  </tr>
-                  <tr>
-                    <td>${game.teams.away.name}</td>${awayCells}
-                    <td>${lsRes.linescore.teams.away.runs}</td>
-                    <td>${lsRes.linescore.teams.away.hits}</td>
-                    <td>${lsRes.linescore.teams.away.errors || 0}</td>
-                  </tr>
-                  <tr>
-                    <td>${game.teams.home.name}</td>${homeCells}
-                    <td>${lsRes.linescore.teams.home.runs}</td>
-                    <td>${lsRes.linescore.teams.home.hits}</td>
-                    <td>${lsRes.linescore.teams.home.errors || 0}</td>
-                  </tr>
-                </table>
-              `;
+              // subscribe to pushed updates; the server follows the GUMBO
+              // diff patches and only sends when the game situation changes
+              const renderLive = (u) => {
+                const ls = u.linescore;
+                const hWP = (u.homeWinProbability * 100).toFixed(1);
+                const aWP = (u.awayWinProbability * 100).toFixed(1);
+
+                // build inning headers & cells
+                const inningLabels = ls.innings
+                  .map(i => `<th>${i.ordinal ?? i.ordinalNum ?? i.num}</th>`).join("");
+                const awayCells = ls.innings
+                  .map(i => `<td>${typeof i.away === "object" ? (i.away.runs ?? "") : i.away}</td>`).join("");
+                const homeCells = ls.innings
+                  .map(i => `<td>${typeof i.home === "object" ? (i.home.runs ?? "") : i.home}</td>`).join("");
+
+                // render the full live table
+                panel.innerHTML = `
+                  <h3>Live</h3>
+                  <div class="live-probabilities">
+                    <strong>${game.teams.home.name}</strong> ${hWP}% &nbsp;|&nbsp;
+                    <strong>${game.teams.away.name}</strong> ${aWP}%
+                  </div>
+                  <div class="live-situation">
+                    ${u.inningHalf} ${u.inning} · ${u.balls}-${u.strikes}, ${u.outs} out
+                  </div>
+                  <table class="linescore">
+                    <tr>
+                      <th>Inning</th>${inningLabels}<th>R</th><th>H</th><th>E</th>
+                    </tr>
+                    <tr>
+                      <td>${game.teams.away.name}</td>${awayCells}
+                      <td>${ls.teams.away.runs}</td>
+                      <td>${ls.teams.away.hits}</td>
+                      <td>${ls.teams.away.errors || 0}</td>
+                    </tr>
+                    <tr>
+                      <td>${game.teams.home.name}</td>${homeCells}
+                      <td>${ls.teams.home.runs}</td>
+                      <td>${ls.teams.home.hits}</td>
+                      <td>${ls.teams.home.errors || 0}</td>
+                    </tr>
+                  </table>
+                `;
+              };
+
+              const wsProto = location.protocol === "https:" ? "wss" : "ws";
+              liveSocket = new WebSocket(`${wsProto}://${location.host}${API_SERVER}/ws/live?gamePk=${gamePk}`);
+              liveSocket.onmessage = (ev) => renderLive(JSON.parse(ev.data));
+              liveSocket.onerror = () => {
+                panel.innerHTML = `<p style="color:red;">Live feed unavailable.</p>`;
+              };
               break;
             }
             
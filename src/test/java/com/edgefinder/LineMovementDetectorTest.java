@@ -0,0 +1,52 @@
+package com.edgefinder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class LineMovementDetectorTest {
+    private static final long WINDOW_MS = 50;
+
+    private OddsBook book;
+    private LineMovementDetector detector;
+    private final BlockingQueue<LineMovementDetector.LineMovementEvent> alerts = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        book = new OddsBook("Pinnacle", 1_800_000, "America/New_York");
+        detector = new LineMovementDetector(book, 1024, "Pinnacle", WINDOW_MS, 10, 8, 5, 3, 1_800_000);
+        detector.subscribe(alerts::add);
+        detector.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        detector.stop();
+    }
+
+    @Test
+    void stableLineThenOneJumpIsAVelocityAlert() throws Exception {
+        book.update("g1", OddsBook.MONEYLINE, "Pinnacle", Map.of(OddsBook.HOME, 1.91, OddsBook.AWAY, 1.95));
+        // longer than the window with no ticks: the -110 line is still the one in effect
+        Thread.sleep(WINDOW_MS * 3);
+        book.update("g1", OddsBook.MONEYLINE, "Pinnacle", Map.of(OddsBook.HOME, 1.80, OddsBook.AWAY, 1.95));
+
+        LineMovementDetector.LineMovementEvent e = alerts.poll(2, TimeUnit.SECONDS);
+        assertNotNull(e, "no alert for a 15 cent jump");
+        assertEquals(LineMovementDetector.LineMovementEvent.VELOCITY, e.kind);
+        assertEquals(OddsBook.HOME, e.outcome);
+        assertEquals(List.of("Pinnacle"), e.books);
+        assertEquals(1.91, e.fromOdds);
+        assertEquals(1.80, e.toOdds);
+        assertEquals(WINDOW_MS, e.overMs);
+    }
+}